@@ -1,9 +1,17 @@
 package net.fabricmc.exdeorum;
 
 import net.fabricmc.api.ModInitializer;
+import net.fabricmc.exdeorum.machine.MachineCatchUp;
+import net.fabricmc.exdeorum.machine.MachineDirtyTracker;
+import net.fabricmc.exdeorum.network.MachineSync;
+import net.fabricmc.exdeorum.network.RecipeSync;
+import net.fabricmc.exdeorum.recipe.ExDeorumRecipes;
 import net.fabricmc.exdeorum.registry.ModBlockEntities;
 import net.fabricmc.exdeorum.registry.ModBlocks;
+import net.fabricmc.exdeorum.registry.ModCommands;
+import net.fabricmc.exdeorum.registry.ModGameRules;
 import net.fabricmc.exdeorum.registry.ModItems;
+import net.fabricmc.exdeorum.registry.ModStorages;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -36,6 +44,18 @@ public class ExDeorum implements ModInitializer {
         ModBlocks.register();
         ModItems.register();
         ModBlockEntities.register();
+        ModStorages.register();
+        ModGameRules.register();
+        ModCommands.register();
+        
+        // Register and compile the recipes
+        ExDeorumRecipes.init();
+        RecipeSync.register();
+        MachineSync.register();
+        
+        // Let machines catch up on progress made while their chunk was unloaded
+        MachineCatchUp.register();
+        MachineDirtyTracker.register();
         
         LOGGER.info("Ex Deorum initialized");
     }
@@ -3,6 +3,8 @@ package net.fabricmc.exdeorum;
 import net.fabricmc.api.ClientModInitializer;
 import net.fabricmc.api.EnvType;
 import net.fabricmc.api.Environment;
+import net.fabricmc.exdeorum.network.MachineSyncClient;
+import net.fabricmc.exdeorum.network.RecipeSyncClient;
 import net.fabricmc.exdeorum.registry.ModBlockEntityRenderers;
 import net.fabricmc.exdeorum.registry.ModScreenHandlers;
 
@@ -19,6 +21,8 @@ public class ExDeorumClient implements ClientModInitializer {
         // Register client-side components
         ModBlockEntityRenderers.register();
         ModScreenHandlers.register();
+        RecipeSyncClient.register();
+        MachineSyncClient.register();
         
         ExDeorum.LOGGER.info("Ex Deorum client initialized");
     }
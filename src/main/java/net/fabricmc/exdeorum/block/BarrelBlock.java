@@ -1,18 +1,16 @@
 package net.fabricmc.exdeorum.block;
 
 import net.fabricmc.exdeorum.block.entity.BarrelBlockEntity;
-import net.fabricmc.exdeorum.registry.ModBlockEntities;
+import net.fabricmc.exdeorum.recipe.ItemClassificationIndex;
 import net.minecraft.block.*;
 import net.minecraft.block.entity.BlockEntity;
-import net.minecraft.block.entity.BlockEntityTicker;
-import net.minecraft.block.entity.BlockEntityType;
 import net.minecraft.entity.player.PlayerEntity;
 import net.minecraft.fluid.Fluid;
 import net.minecraft.fluid.Fluids;
 import net.minecraft.item.BucketItem;
 import net.minecraft.item.ItemStack;
 import net.minecraft.item.Items;
-import net.minecraft.registry.tag.ItemTags;
+import net.minecraft.server.world.ServerWorld;
 import net.minecraft.sound.SoundCategory;
 import net.minecraft.sound.SoundEvents;
 import net.minecraft.state.StateManager;
@@ -22,6 +20,7 @@ import net.minecraft.util.ActionResult;
 import net.minecraft.util.Hand;
 import net.minecraft.util.hit.BlockHitResult;
 import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.random.Random;
 import net.minecraft.util.shape.VoxelShape;
 import net.minecraft.util.shape.VoxelShapes;
 import net.minecraft.world.BlockView;
@@ -32,6 +31,9 @@ import org.jetbrains.annotations.Nullable;
  * The barrel block allows players to:
  * 1. Add water with buckets or bottles
  * 2. Create dirt through composting organic materials
+ * A full compost barrel finishes on a scheduled block tick, so waiting barrels cost nothing per tick.
+ * Empty barrels are only a block state. The block entity is created by the first insertion
+ * and removed again when the barrel is emptied.
  */
 public class BarrelBlock extends BlockWithEntity {
     public static final EnumProperty<BarrelBlockEntity.BarrelMode> MODE = EnumProperty.of(
@@ -69,6 +71,17 @@ public class BarrelBlock extends BlockWithEntity {
         }
 
         ItemStack heldStack = player.getStackInHand(hand);
+        
+        // Empty barrels have no block entity, switching to the new mode creates it
+        if (state.get(MODE) == BarrelBlockEntity.BarrelMode.EMPTY) {
+            BarrelBlockEntity.BarrelMode newMode = getInsertMode(heldStack);
+            if (newMode == null) {
+                return ActionResult.PASS;
+            }
+            state = state.with(MODE, newMode);
+            world.setBlockState(pos, state);
+        }
+        
         BlockEntity be = world.getBlockEntity(pos);
         
         if (!(be instanceof BarrelBlockEntity barrelBE)) {
@@ -82,8 +95,7 @@ public class BarrelBlock extends BlockWithEntity {
                 player.giveItemStack(new ItemStack(Items.DIRT));
                 
                 // Reset the barrel
-                barrelBE.clear();
-                world.setBlockState(pos, state.with(MODE, BarrelBlockEntity.BarrelMode.EMPTY));
+                setEmpty(world, pos, state);
                 
                 world.playSound(null, pos, SoundEvents.ITEM_BUCKET_EMPTY, SoundCategory.BLOCKS, 1.0f, 1.0f);
                 return ActionResult.SUCCESS;
@@ -113,8 +125,8 @@ public class BarrelBlock extends BlockWithEntity {
                 Fluid fluid = barrelBE.getFluid();
                 if (fluid == Fluids.WATER) {
                     barrelBE.extractFluid(1000);
-                    if (barrelBE.getFluidAmount() <= 0) {
-                        world.setBlockState(pos, state.with(MODE, BarrelBlockEntity.BarrelMode.EMPTY));
+                    if (barrelBE.getMode() == BarrelBlockEntity.BarrelMode.EMPTY) {
+                        setEmpty(world, pos, state);
                     }
                     
                     if (!player.isCreative()) {
@@ -144,41 +156,62 @@ public class BarrelBlock extends BlockWithEntity {
             }
         }
         
+        // Nothing went in, don't keep a block entity for an empty barrel
+        if (barrelBE.getMode() == BarrelBlockEntity.BarrelMode.EMPTY) {
+            setEmpty(world, pos, state);
+        }
+        
         return ActionResult.PASS;
     }
 
+    /**
+     * Get the mode an empty barrel switches to when a stack is inserted
+     * @return The new mode, or null if the stack can't go into the barrel
+     */
+    @Nullable
+    private BarrelBlockEntity.BarrelMode getInsertMode(ItemStack stack) {
+        if (stack.getItem() instanceof BucketItem bucket && bucket.getFluid() != Fluids.EMPTY) {
+            return BarrelBlockEntity.BarrelMode.FLUID;
+        }
+        if (getCompostValue(stack) > 0) {
+            return BarrelBlockEntity.BarrelMode.COMPOST;
+        }
+        return null;
+    }
+
+    /**
+     * Return a barrel to the empty state and drop its block entity.
+     * Clients drop theirs when the new state arrives, see {@link BarrelBlockEntity#setCachedState}.
+     */
+    public static void setEmpty(World world, BlockPos pos, BlockState state) {
+        world.setBlockState(pos, state.with(MODE, BarrelBlockEntity.BarrelMode.EMPTY));
+        world.removeBlockEntity(pos);
+    }
+
     /**
      * Get the compost value for an item
      * @param stack The item to check
      * @return The compost value (0 if not compostable)
      */
     private int getCompostValue(ItemStack stack) {
-        // For simplicity, we're using some common tags to determine compostable items
-        // In a full implementation, this would be more comprehensive
-        if (stack.isIn(ItemTags.LEAVES)) {
-            return 100;
-        } else if (stack.isIn(ItemTags.SAPLINGS)) {
-            return 125;
-        } else if (stack.isOf(Items.WHEAT) || stack.isOf(Items.SUGAR_CANE)) {
-            return 75;
-        } else if (stack.isOf(Items.APPLE) || stack.isOf(Items.CARROT) || stack.isOf(Items.POTATO)) {
-            return 150;
-        }
-        
-        // In a real implementation, this would have many more items
-        return 0;
+        return ItemClassificationIndex.get().getCompostValue(stack.getItem());
     }
 
     @Nullable
     @Override
     public BlockEntity createBlockEntity(BlockPos pos, BlockState state) {
+        // Empty barrels don't need a block entity
+        if (state.get(MODE) == BarrelBlockEntity.BarrelMode.EMPTY) {
+            return null;
+        }
         return new BarrelBlockEntity(pos, state);
     }
 
-    @Nullable
     @Override
-    public <T extends BlockEntity> BlockEntityTicker<T> getTicker(World world, BlockState state, BlockEntityType<T> type) {
-        return checkType(type, ModBlockEntities.BARREL, BarrelBlockEntity::tick);
+    public void scheduledTick(BlockState state, ServerWorld world, BlockPos pos, Random random) {
+        if (world.getBlockEntity(pos) instanceof BarrelBlockEntity barrelBE) {
+            barrelBE.onScheduledTick(world, pos);
+        }
     }
 
     @Override
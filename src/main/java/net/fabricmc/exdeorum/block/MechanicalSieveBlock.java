@@ -0,0 +1,128 @@
+package net.fabricmc.exdeorum.block;
+
+import net.fabricmc.exdeorum.block.entity.MechanicalSieveBlockEntity;
+import net.fabricmc.exdeorum.block.entity.SieveOutputBuffer;
+import net.fabricmc.exdeorum.recipe.ItemClassificationIndex;
+import net.minecraft.block.*;
+import net.minecraft.block.entity.BlockEntity;
+import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.item.ItemStack;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.sound.SoundCategory;
+import net.minecraft.sound.SoundEvents;
+import net.minecraft.util.ActionResult;
+import net.minecraft.util.Hand;
+import net.minecraft.util.hit.BlockHitResult;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.random.Random;
+import net.minecraft.util.shape.VoxelShape;
+import net.minecraft.world.BlockView;
+import net.minecraft.world.World;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The mechanical sieve sifts by itself:
+ * 1. Put a mesh in it
+ * 2. Fill it with materials to sift, by hand or with hoppers and pipes
+ * 3. Collect the results by hand or pull them out of the bottom
+ * Work cycles run on scheduled block ticks, see {@link MechanicalSieveBlockEntity}.
+ */
+public class MechanicalSieveBlock extends BlockWithEntity {
+
+    public MechanicalSieveBlock(Settings settings) {
+        super(settings);
+    }
+
+    @Override
+    public VoxelShape getOutlineShape(BlockState state, BlockView world, BlockPos pos, ShapeContext context) {
+        return SieveBlock.SIEVE_SHAPE;
+    }
+
+    @Override
+    public ActionResult onUse(BlockState state, World world, BlockPos pos, PlayerEntity player, Hand hand, BlockHitResult hit) {
+        if (world.isClient) {
+            return ActionResult.SUCCESS;
+        }
+
+        if (!(world.getBlockEntity(pos) instanceof MechanicalSieveBlockEntity sieveBE)) {
+            return ActionResult.PASS;
+        }
+
+        ItemStack heldStack = player.getStackInHand(hand);
+
+        // Insert a mesh if there is none
+        if (sieveBE.getMeshStack().isEmpty() && ItemClassificationIndex.get().isMesh(heldStack.getItem())) {
+            ItemStack meshStack = heldStack.copy();
+            meshStack.setCount(1);
+            sieveBE.setMeshStack(meshStack);
+            if (!player.isCreative()) {
+                heldStack.decrement(1);
+            }
+            world.playSound(null, pos, SoundEvents.BLOCK_WOOL_PLACE, SoundCategory.BLOCKS, 0.8f, 1.0f);
+            return ActionResult.SUCCESS;
+        }
+
+        // Fill the input with as much of the held stack as fits
+        if (!heldStack.isEmpty()) {
+            ItemStack inserted = player.isCreative() ? heldStack.copy() : heldStack;
+            if (sieveBE.addInput(inserted)) {
+                world.playSound(null, pos, SoundEvents.BLOCK_GRAVEL_PLACE, SoundCategory.BLOCKS, 0.5f, 1.0f);
+                return ActionResult.SUCCESS;
+            }
+            return ActionResult.PASS;
+        }
+
+        // Sneaking with an empty hand takes the mesh out
+        if (player.isSneaking()) {
+            if (sieveBE.getMeshStack().isEmpty()) {
+                return ActionResult.PASS;
+            }
+            player.giveItemStack(sieveBE.getMeshStack());
+            sieveBE.setMeshStack(ItemStack.EMPTY);
+            world.playSound(null, pos, SoundEvents.BLOCK_WOOL_BREAK, SoundCategory.BLOCKS, 0.8f, 1.0f);
+            return ActionResult.SUCCESS;
+        }
+
+        // An empty hand collects the results
+        SieveOutputBuffer outputs = sieveBE.getOutputs();
+        boolean collected = false;
+        for (int i = 0; i < outputs.size(); i++) {
+            ItemStack drop = outputs.removeStack(i);
+            if (!drop.isEmpty()) {
+                player.giveItemStack(drop);
+                collected = true;
+            }
+        }
+        return collected ? ActionResult.SUCCESS : ActionResult.PASS;
+    }
+
+    @Override
+    public void onStateReplaced(BlockState state, World world, BlockPos pos, BlockState newState, boolean moved) {
+        if (!state.isOf(newState.getBlock())) {
+            if (world.getBlockEntity(pos) instanceof MechanicalSieveBlockEntity sieveBE) {
+                for (ItemStack drop : sieveBE.getDrops()) {
+                    Block.dropStack(world, pos, drop);
+                }
+            }
+            super.onStateReplaced(state, world, pos, newState, moved);
+        }
+    }
+
+    @Override
+    public void scheduledTick(BlockState state, ServerWorld world, BlockPos pos, Random random) {
+        if (world.getBlockEntity(pos) instanceof MechanicalSieveBlockEntity sieveBE) {
+            sieveBE.onScheduledTick(world, pos);
+        }
+    }
+
+    @Nullable
+    @Override
+    public BlockEntity createBlockEntity(BlockPos pos, BlockState state) {
+        return new MechanicalSieveBlockEntity(pos, state);
+    }
+
+    @Override
+    public BlockRenderType getRenderType(BlockState state) {
+        return BlockRenderType.MODEL;
+    }
+}
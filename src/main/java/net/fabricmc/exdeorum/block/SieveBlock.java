@@ -1,19 +1,17 @@
 package net.fabricmc.exdeorum.block;
 
 import net.fabricmc.exdeorum.block.entity.SieveBlockEntity;
-import net.fabricmc.exdeorum.registry.ModBlockEntities;
-import net.fabricmc.exdeorum.registry.ModItems;
+import net.fabricmc.exdeorum.block.entity.SieveOutputBuffer;
+import net.fabricmc.exdeorum.recipe.ItemClassificationIndex;
 import net.minecraft.block.*;
 import net.minecraft.block.entity.BlockEntity;
 import net.minecraft.entity.player.PlayerEntity;
 import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
-import net.minecraft.registry.tag.BlockTags;
-import net.minecraft.registry.tag.ItemTags;
 import net.minecraft.sound.SoundCategory;
 import net.minecraft.sound.SoundEvents;
 import net.minecraft.state.StateManager;
-import net.minecraft.state.property.IntProperty;
+import net.minecraft.state.property.BooleanProperty;
 import net.minecraft.util.ActionResult;
 import net.minecraft.util.Hand;
 import net.minecraft.util.hit.BlockHitResult;
@@ -31,9 +29,13 @@ import java.util.List;
  * 1. Place a mesh in the sieve
  * 2. Add materials to sift through the mesh
  * 3. Click repeatedly to sift and get resources
+ * Sifting progress lives in the block entity and is sent to clients as render data,
+ * so clicking does not change the block state or re-mesh the chunk.
+ * Sieves without a mesh are only a block state. Inserting a mesh creates the block entity,
+ * and sneak-using an idle sieve with an empty hand takes the mesh out and removes it again.
  */
 public class SieveBlock extends BlockWithEntity {
-    public static final IntProperty PROGRESS = IntProperty.of("progress", 0, 7);
+    public static final BooleanProperty HAS_MESH = BooleanProperty.of("has_mesh");
     
     protected static final VoxelShape LEG_SHAPE = Block.createCuboidShape(0, 0, 0, 2, 12, 2);
     protected static final VoxelShape SIEVE_SHAPE = VoxelShapes.union(
@@ -52,12 +54,12 @@ public class SieveBlock extends BlockWithEntity {
     
     public SieveBlock(Settings settings) {
         super(settings);
-        setDefaultState(getStateManager().getDefaultState().with(PROGRESS, 0));
+        setDefaultState(getStateManager().getDefaultState().with(HAS_MESH, false));
     }
     
     @Override
     protected void appendProperties(StateManager.Builder<Block, BlockState> builder) {
-        builder.add(PROGRESS);
+        builder.add(HAS_MESH);
     }
     
     @Override
@@ -71,31 +73,43 @@ public class SieveBlock extends BlockWithEntity {
             return ActionResult.SUCCESS;
         }
         
-        BlockEntity be = world.getBlockEntity(pos);
-        if (!(be instanceof SieveBlockEntity sieveBE)) {
-            return ActionResult.PASS;
-        }
-        
         ItemStack heldStack = player.getStackInHand(hand);
         
-        // If the sieve doesn't have a mesh yet
-        if (!sieveBE.hasMesh()) {
+        // Sieves without a mesh have no block entity, inserting one creates it
+        if (!state.get(HAS_MESH)) {
             if (isMesh(heldStack.getItem())) {
-                // Insert the mesh
-                ItemStack meshStack = heldStack.copy();
-                meshStack.setCount(1);
-                sieveBE.setMeshStack(meshStack);
-                
-                if (!player.isCreative()) {
-                    heldStack.decrement(1);
+                world.setBlockState(pos, state.with(HAS_MESH, true));
+                if (world.getBlockEntity(pos) instanceof SieveBlockEntity sieveBE) {
+                    ItemStack meshStack = heldStack.copy();
+                    meshStack.setCount(1);
+                    sieveBE.setMeshStack(meshStack);
+                    
+                    if (!player.isCreative()) {
+                        heldStack.decrement(1);
+                    }
+                    
+                    world.playSound(null, pos, SoundEvents.BLOCK_WOOL_PLACE, SoundCategory.BLOCKS, 0.8f, 1.0f);
+                    return ActionResult.SUCCESS;
                 }
-                
-                world.playSound(null, pos, SoundEvents.BLOCK_WOOL_PLACE, SoundCategory.BLOCKS, 0.8f, 1.0f);
-                return ActionResult.SUCCESS;
             }
             return ActionResult.PASS;
         }
         
+        BlockEntity be = world.getBlockEntity(pos);
+        if (!(be instanceof SieveBlockEntity sieveBE)) {
+            return ActionResult.PASS;
+        }
+        
+        // Sneaking with an empty hand takes the mesh out of an idle sieve
+        if (player.isSneaking() && heldStack.isEmpty() && !sieveBE.hasInput()) {
+            for (ItemStack drop : sieveBE.getDrops()) {
+                player.giveItemStack(drop);
+            }
+            removeMesh(world, pos, state);
+            world.playSound(null, pos, SoundEvents.BLOCK_WOOL_BREAK, SoundCategory.BLOCKS, 0.8f, 1.0f);
+            return ActionResult.SUCCESS;
+        }
+        
         // If the sieve has a mesh but no input material
         if (!sieveBE.hasInput()) {
             if (isSiftable(heldStack.getItem())) {
@@ -108,7 +122,6 @@ public class SieveBlock extends BlockWithEntity {
                     heldStack.decrement(1);
                 }
                 
-                world.setBlockState(pos, state.with(PROGRESS, 0));
                 world.playSound(null, pos, SoundEvents.BLOCK_GRAVEL_PLACE, SoundCategory.BLOCKS, 0.5f, 1.0f);
                 return ActionResult.SUCCESS;
             }
@@ -119,49 +132,45 @@ public class SieveBlock extends BlockWithEntity {
         boolean complete = sieveBE.sieveOnce();
         int progress = sieveBE.getProgress();
         
-        world.setBlockState(pos, state.with(PROGRESS, progress));
         world.playSound(null, pos, SoundEvents.BLOCK_SAND_BREAK, SoundCategory.BLOCKS, 0.3f, 0.6f + (progress / 7.0f) * 0.4f);
         
         if (complete) {
-            // Spawn any result items in the world
-            List<ItemStack> drops = sieveBE.getDrops();
-            for (ItemStack drop : drops) {
+            // Hand the sifted results to the player
+            SieveOutputBuffer outputs = sieveBE.getOutputs();
+            for (int i = 0; i < outputs.size(); i++) {
+                ItemStack drop = outputs.removeStack(i);
                 if (!drop.isEmpty()) {
                     player.giveItemStack(drop);
                 }
             }
             
-            sieveBE.clear();
             return ActionResult.SUCCESS;
         }
         
         return ActionResult.SUCCESS;
     }
     
+    /**
+     * Return a sieve to the meshless state and drop its block entity.
+     * Clients drop theirs when the new state arrives, see {@link SieveBlockEntity#setCachedState}.
+     */
+    public static void removeMesh(World world, BlockPos pos, BlockState state) {
+        world.setBlockState(pos, state.with(HAS_MESH, false));
+        world.removeBlockEntity(pos);
+    }
+    
     /**
      * Check if an item is a valid mesh for the sieve
      */
     private boolean isMesh(Item item) {
-        return item == ModItems.STRING_MESH || 
-               item == ModItems.FLINT_MESH ||
-               item == ModItems.IRON_MESH ||
-               item == ModItems.GOLDEN_MESH ||
-               item == ModItems.DIAMOND_MESH ||
-               item == ModItems.NETHERITE_MESH;
+        return ItemClassificationIndex.get().isMesh(item);
     }
     
     /**
      * Check if an item can be sifted in the sieve
      */
     private boolean isSiftable(Item item) {
-        // For now, we'll use some simple checks
-        // In a full implementation, this would be recipe-based
-        BlockState blockState = Block.getBlockFromItem(item).getDefaultState();
-        return blockState.isIn(BlockTags.DIRT) || 
-               blockState.isIn(BlockTags.SAND) ||
-               blockState.isIn(BlockTags.SOUL_FIRE_BASE_BLOCKS) ||
-               blockState.isOf(Blocks.GRAVEL) ||
-               blockState.isOf(Blocks.CLAY);
+        return ItemClassificationIndex.get().isSiftable(item);
     }
     
     @Override
@@ -182,6 +191,10 @@ public class SieveBlock extends BlockWithEntity {
     @Nullable
     @Override
     public BlockEntity createBlockEntity(BlockPos pos, BlockState state) {
+        // Sieves without a mesh don't need a block entity
+        if (!state.get(HAS_MESH)) {
+            return null;
+        }
         return new SieveBlockEntity(pos, state);
     }
     
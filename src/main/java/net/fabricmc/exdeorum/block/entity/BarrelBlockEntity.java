@@ -1,42 +1,90 @@
 package net.fabricmc.exdeorum.block.entity;
 
+import net.fabricmc.exdeorum.block.BarrelBlock;
+import net.fabricmc.exdeorum.machine.CatchUpMachine;
+import net.fabricmc.exdeorum.machine.DeferredDirtyMachine;
+import net.fabricmc.exdeorum.machine.MachineDirtyTracker;
+import net.fabricmc.exdeorum.network.MachineSync;
+import net.fabricmc.exdeorum.network.SyncedMachine;
 import net.fabricmc.exdeorum.registry.ModBlockEntities;
+import net.fabricmc.fabric.api.transfer.v1.fluid.FluidConstants;
+import net.fabricmc.fabric.api.transfer.v1.fluid.FluidVariant;
+import net.fabricmc.fabric.api.transfer.v1.storage.StoragePreconditions;
+import net.fabricmc.fabric.api.transfer.v1.storage.base.InsertionOnlyStorage;
+import net.fabricmc.fabric.api.transfer.v1.storage.base.ResourceAmount;
+import net.fabricmc.fabric.api.transfer.v1.storage.base.SingleSlotStorage;
+import net.fabricmc.fabric.api.transfer.v1.transaction.TransactionContext;
+import net.fabricmc.fabric.api.transfer.v1.transaction.base.SnapshotParticipant;
 import net.minecraft.block.BlockState;
 import net.minecraft.block.entity.BlockEntity;
-import net.minecraft.entity.player.PlayerEntity;
 import net.minecraft.fluid.Fluid;
 import net.minecraft.fluid.Fluids;
-import net.minecraft.inventory.Inventories;
-import net.minecraft.inventory.Inventory;
 import net.minecraft.item.ItemStack;
 import net.minecraft.nbt.NbtCompound;
+import net.minecraft.network.PacketByteBuf;
+import net.minecraft.network.listener.ClientPlayPacketListener;
+import net.minecraft.network.packet.Packet;
+import net.minecraft.network.packet.s2c.play.BlockEntityUpdateS2CPacket;
 import net.minecraft.particle.ParticleTypes;
+import net.minecraft.registry.Registries;
+import net.minecraft.server.world.ServerWorld;
 import net.minecraft.sound.SoundCategory;
 import net.minecraft.sound.SoundEvents;
-import net.minecraft.util.collection.DefaultedList;
+import net.minecraft.util.Identifier;
 import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.GlobalPos;
 import net.minecraft.world.World;
 
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
 
-public class BarrelBlockEntity extends BlockEntity implements Inventory {
-    private static final String ITEM_KEY = "Item";
+/**
+ * Barrels have no ticker. Filling a barrel with compost records the game time it will turn
+ * into dirt and schedules a single block tick for that time.
+ * The deadline is saved with the barrel, so composting also finishes while the chunk is unloaded.
+ * Mode, fluid and compost level are sent to clients as deltas through {@link MachineSync}.
+ * <p>
+ * The fluid is exposed to the Transfer API through {@link #getFluidStorage()}, and empty barrels
+ * through {@link #createEmptyFluidStorage}. Amounts are kept in thousandths of a bucket,
+ * so storages move fluid in steps of {@link #DROPLETS_PER_UNIT} droplets.
+ */
+public class BarrelBlockEntity extends BlockEntity implements CatchUpMachine, SyncedMachine, DeferredDirtyMachine {
     private static final String FLUID_KEY = "Fluid";
     private static final String FLUID_AMOUNT_KEY = "FluidAmount";
     private static final String COMPOST_LEVEL_KEY = "CompostLevel";
-    private static final String COMPOST_TIME_KEY = "CompostTime";
+    private static final String COMPOST_DEADLINE_KEY = "CompostDeadline";
     private static final String MODE_KEY = "Mode";
 
     private static final int MAX_FLUID_AMOUNT = 1000;
     private static final int MAX_COMPOST_LEVEL = 1000;
     private static final int COMPOST_TIME_TOTAL = 600; // 30 seconds
+    private static final long NO_DEADLINE = -1;
+    private static final long DROPLETS_PER_UNIT = FluidConstants.BUCKET / MAX_FLUID_AMOUNT;
+    
+    // Synced fields
+    private static final int SYNC_MODE = 1;
+    private static final int SYNC_FLUID = 1 << 1;
+    private static final int SYNC_FLUID_AMOUNT = 1 << 2;
+    private static final int SYNC_COMPOST_LEVEL = 1 << 3;
+
+    private static final BarrelMode[] MODES = BarrelMode.values();
 
-    private DefaultedList<ItemStack> inventory = DefaultedList.ofSize(1, ItemStack.EMPTY);
     private Fluid fluid = Fluids.EMPTY;
-    private int fluidAmount = 0;
-    private int compostLevel = 0;
-    private int compostTime = 0;
-    private BarrelMode mode = BarrelMode.EMPTY;
+    private long compostDeadline = NO_DEADLINE; // Game time the compost turns into dirt
+    
+    // Amounts fit in a short, and the mode is kept as its ordinal next to them
+    private short fluidAmount = 0;
+    private short compostLevel = 0;
+    private byte mode = 0;
+    
+    // Fields changed since the last client sync
+    private byte changedFields = 0;
+    
+    // Set while a markDirty is waiting for the end of the tick
+    private boolean dirtyQueued = false;
+    
+    private final FluidStorage fluidStorage = new FluidStorage();
 
     public enum BarrelMode {
         EMPTY,
@@ -50,7 +98,11 @@ public class BarrelBlockEntity extends BlockEntity implements Inventory {
     }
 
     public BarrelMode getMode() {
-        return mode;
+        return MODES[mode];
+    }
+
+    private void setMode(BarrelMode mode) {
+        this.mode = (byte) mode.ordinal();
     }
 
     public Fluid getFluid() {
@@ -65,31 +117,82 @@ public class BarrelBlockEntity extends BlockEntity implements Inventory {
         return compostLevel;
     }
 
+    /**
+     * Get how long the full compost has been composting, derived from the deadline
+     */
     public int getCompostTime() {
-        return compostTime;
+        if (compostDeadline == NO_DEADLINE || world == null) {
+            return 0;
+        }
+        long remaining = compostDeadline - world.getTime();
+        return (int) Math.max(0, Math.min(COMPOST_TIME_TOTAL, COMPOST_TIME_TOTAL - remaining));
     }
 
     public boolean addFluid(Fluid fluid, int amount) {
-        if (mode == BarrelMode.EMPTY || (mode == BarrelMode.FLUID && this.fluid == fluid)) {
+        if (getMode() == BarrelMode.EMPTY || (getMode() == BarrelMode.FLUID && this.fluid == fluid)) {
             int newAmount = fluidAmount + amount;
             if (newAmount <= MAX_FLUID_AMOUNT) {
                 this.fluid = fluid;
-                this.fluidAmount = newAmount;
-                this.mode = BarrelMode.FLUID;
+                this.fluidAmount = (short) newAmount;
+                setMode(BarrelMode.FLUID);
                 markDirty();
+                markChanged(SYNC_MODE | SYNC_FLUID | SYNC_FLUID_AMOUNT);
                 return true;
             }
         }
         return false;
     }
 
+    /**
+     * Remove fluid from the barrel, emptying it when the last of the fluid is taken
+     * @return True if there was enough fluid
+     */
+    public boolean extractFluid(int amount) {
+        if (getMode() != BarrelMode.FLUID || fluidAmount < amount) {
+            return false;
+        }
+        
+        fluidAmount -= amount;
+        if (fluidAmount <= 0) {
+            fluidAmount = 0;
+            fluid = Fluids.EMPTY;
+            setMode(BarrelMode.EMPTY);
+        }
+        markDirty();
+        markChanged(SYNC_MODE | SYNC_FLUID | SYNC_FLUID_AMOUNT);
+        return true;
+    }
+
+    /**
+     * Get the fluid storage of this barrel for the Transfer API
+     */
+    public SingleSlotStorage<FluidVariant> getFluidStorage() {
+        return fluidStorage;
+    }
+
+    /**
+     * Create a fluid storage for an empty barrel, which has no block entity.
+     * Fluid inserted into it switches the barrel to fluid mode when the transaction is committed.
+     */
+    public static InsertionOnlyStorage<FluidVariant> createEmptyFluidStorage(World world, BlockPos pos) {
+        return new EmptyFluidStorage(world, pos);
+    }
+
+    private static boolean canHoldFluid(FluidVariant variant) {
+        return !variant.hasNbt() && variant.getFluid().isStill(variant.getFluid().getDefaultState());
+    }
+
     public boolean addCompostItem(ItemStack stack, int compostValue) {
-        if (mode == BarrelMode.EMPTY || mode == BarrelMode.COMPOST) {
+        if (getMode() == BarrelMode.EMPTY || getMode() == BarrelMode.COMPOST) {
             int newLevel = compostLevel + compostValue;
             if (newLevel <= MAX_COMPOST_LEVEL) {
-                compostLevel = newLevel;
-                mode = BarrelMode.COMPOST;
+                compostLevel = (short) newLevel;
+                setMode(BarrelMode.COMPOST);
+                if (compostLevel >= MAX_COMPOST_LEVEL) {
+                    startComposting();
+                }
                 markDirty();
+                markChanged(SYNC_MODE | SYNC_COMPOST_LEVEL);
                 
                 // Play sound and spawn particles
                 if (world != null && !world.isClient) {
@@ -122,104 +225,368 @@ public class BarrelBlockEntity extends BlockEntity implements Inventory {
         }
     }
 
-    public static void tick(World world, BlockPos pos, BlockState state, BarrelBlockEntity blockEntity) {
-        if (world.isClient) return;
+    /**
+     * Record when the full barrel finishes composting and schedule a tick for that time
+     */
+    private void startComposting() {
+        if (world == null || world.isClient) {
+            return;
+        }
+        compostDeadline = world.getTime() + COMPOST_TIME_TOTAL;
+        world.scheduleBlockTick(pos, getCachedState().getBlock(), COMPOST_TIME_TOTAL);
+    }
+
+    /**
+     * Finish composting if the deadline has passed, called from the block's scheduled tick
+     */
+    public void onScheduledTick(ServerWorld world, BlockPos pos) {
+        if (getMode() != BarrelMode.COMPOST || compostDeadline == NO_DEADLINE) {
+            return;
+        }
         
-        if (blockEntity.mode == BarrelMode.COMPOST && blockEntity.compostLevel >= MAX_COMPOST_LEVEL) {
-            blockEntity.compostTime++;
-            if (blockEntity.compostTime >= COMPOST_TIME_TOTAL) {
-                blockEntity.mode = BarrelMode.DIRT;
-                blockEntity.compostTime = 0;
-                blockEntity.markDirty();
-                world.playSound(null, pos, SoundEvents.BLOCK_COMPOSTER_READY, SoundCategory.BLOCKS, 1.0f, 1.0f);
-            }
+        long remaining = compostDeadline - world.getTime();
+        if (remaining > 0) {
+            // The tick fired early, wait for the rest
+            world.scheduleBlockTick(pos, getCachedState().getBlock(), (int) remaining);
+            return;
         }
+        
+        setMode(BarrelMode.DIRT);
+        compostDeadline = NO_DEADLINE;
+        markDirty();
+        markChanged(SYNC_MODE);
+        world.setBlockState(pos, getCachedState().with(BarrelBlock.MODE, BarrelMode.DIRT));
+        world.playSound(null, pos, SoundEvents.BLOCK_COMPOSTER_READY, SoundCategory.BLOCKS, 1.0f, 1.0f);
     }
 
     @Override
-    public void readNbt(NbtCompound nbt) {
-        super.readNbt(nbt);
-        if (nbt.contains(ITEM_KEY)) {
-            inventory = DefaultedList.ofSize(1, ItemStack.EMPTY);
-            Inventories.readNbt(nbt, inventory);
+    public void catchUp(ServerWorld world) {
+        if (getMode() == BarrelMode.EMPTY) {
+            // Empty barrels saved before they stopped keeping a block entity, the state may say otherwise
+            BarrelBlock.setEmpty(world, pos, getCachedState());
+            return;
+        }
+        
+        if (getMode() != BarrelMode.COMPOST) {
+            return;
         }
         
-        if (nbt.contains(FLUID_KEY)) {
-            // In a full implementation, we would deserialize the fluid from registry ID
-            // For now, we'll assume water if any fluid is present
-            if (!nbt.getString(FLUID_KEY).isEmpty()) {
-                fluid = Fluids.WATER;
+        if (compostDeadline == NO_DEADLINE) {
+            // Barrels saved before composting was deadline based
+            if (compostLevel >= MAX_COMPOST_LEVEL) {
+                startComposting();
             }
+            return;
         }
         
-        fluidAmount = nbt.getInt(FLUID_AMOUNT_KEY);
-        compostLevel = nbt.getInt(COMPOST_LEVEL_KEY);
-        compostTime = nbt.getInt(COMPOST_TIME_KEY);
-        mode = BarrelMode.values()[nbt.getInt(MODE_KEY)];
+        // Finishes right away if the deadline passed while unloaded, otherwise waits for the rest
+        onScheduledTick(world, pos);
+    }
+
+    @Override
+    public void readNbt(NbtCompound nbt) {
+        super.readNbt(nbt);
+        String fluidId = nbt.getString(FLUID_KEY);
+        fluid = fluidId.isEmpty() ? Fluids.EMPTY : Registries.FLUID.get(Identifier.tryParse(fluidId));
+        
+        fluidAmount = (short) nbt.getInt(FLUID_AMOUNT_KEY);
+        compostLevel = (short) nbt.getInt(COMPOST_LEVEL_KEY);
+        compostDeadline = nbt.contains(COMPOST_DEADLINE_KEY) ? nbt.getLong(COMPOST_DEADLINE_KEY) : NO_DEADLINE;
+        mode = (byte) nbt.getInt(MODE_KEY);
     }
 
     @Override
     protected void writeNbt(NbtCompound nbt) {
         super.writeNbt(nbt);
-        Inventories.writeNbt(nbt, inventory);
-        
-        // In a full implementation, we would serialize the fluid to registry ID
-        // For now, we'll just check if it's water
-        nbt.putString(FLUID_KEY, fluid == Fluids.WATER ? "minecraft:water" : "");
+        writeRenderData(nbt);
+        if (compostDeadline != NO_DEADLINE) {
+            nbt.putLong(COMPOST_DEADLINE_KEY, compostDeadline);
+        }
+    }
+
+    /**
+     * Write the state clients need to draw the barrel contents
+     */
+    private void writeRenderData(NbtCompound nbt) {
+        nbt.putString(FLUID_KEY, fluid == Fluids.EMPTY ? "" : Registries.FLUID.getId(fluid).toString());
         
         nbt.putInt(FLUID_AMOUNT_KEY, fluidAmount);
         nbt.putInt(COMPOST_LEVEL_KEY, compostLevel);
-        nbt.putInt(COMPOST_TIME_KEY, compostTime);
-        nbt.putInt(MODE_KEY, mode.ordinal());
+        nbt.putInt(MODE_KEY, mode);
     }
 
-    // Inventory Implementation
     @Override
-    public int size() {
-        return inventory.size();
+    public NbtCompound toInitialChunkDataNbt() {
+        NbtCompound nbt = new NbtCompound();
+        writeRenderData(nbt);
+        return nbt;
     }
 
+    /**
+     * Send the render data with block updates as well, so a block entity created mid-tick
+     * reaches clients before any {@link MachineSync} delta for it
+     */
     @Override
-    public boolean isEmpty() {
-        return inventory.get(0).isEmpty();
+    public Packet<ClientPlayPacketListener> toUpdatePacket() {
+        return BlockEntityUpdateS2CPacket.create(this);
     }
 
+    /**
+     * Emptying a barrel keeps the block, so clients would keep this block entity with its old contents.
+     * Drop it on the client once the empty mode arrives, like the server does in {@link BarrelBlock#setEmpty}.
+     */
     @Override
-    public ItemStack getStack(int slot) {
-        return inventory.get(slot);
+    @SuppressWarnings("deprecation")
+    public void setCachedState(BlockState state) {
+        super.setCachedState(state);
+        if (world != null && world.isClient && state.get(BarrelBlock.MODE) == BarrelMode.EMPTY) {
+            world.removeBlockEntity(pos);
+        }
     }
 
+    /**
+     * Defer marking the chunk dirty to {@link MachineDirtyTracker}, so a barrel changed several times
+     * in a tick only does it once
+     */
     @Override
-    public ItemStack removeStack(int slot, int amount) {
-        ItemStack result = Inventories.splitStack(inventory, slot, amount);
-        if (!result.isEmpty()) {
-            markDirty();
+    public void markDirty() {
+        if (dirtyQueued) {
+            MachineDirtyTracker.countCoalesced();
+        } else if (world != null && !world.isClient && MachineDirtyTracker.queue(world, this)) {
+            dirtyQueued = true;
+        } else {
+            super.markDirty();
+        }
+    }
+    
+    @Override
+    public void flushDirty() {
+        dirtyQueued = false;
+        if (!isRemoved()) {
+            super.markDirty();
         }
-        return result;
+    }
+    
+    /**
+     * Mark fields to be sent to clients at the end of the tick
+     */
+    private void markChanged(int fields) {
+        if (world == null || world.isClient) {
+            return;
+        }
+        if (changedFields == 0) {
+            MachineSync.queue(world, this);
+        }
+        changedFields |= (byte) fields;
     }
 
     @Override
-    public ItemStack removeStack(int slot) {
-        return Inventories.removeStack(inventory, slot);
+    public int takeChangedFields() {
+        int fields = changedFields;
+        changedFields = 0;
+        return fields;
     }
 
     @Override
-    public void setStack(int slot, ItemStack stack) {
-        inventory.set(slot, stack);
-        if (stack.getCount() > getMaxCountPerStack()) {
-            stack.setCount(getMaxCountPerStack());
+    public void writeSyncFields(PacketByteBuf buf, int fields) {
+        if ((fields & SYNC_MODE) != 0) {
+            buf.writeByte(mode);
+        }
+        if ((fields & SYNC_FLUID) != 0) {
+            buf.writeVarInt(Registries.FLUID.getRawId(fluid));
+        }
+        if ((fields & SYNC_FLUID_AMOUNT) != 0) {
+            buf.writeVarInt(fluidAmount);
+        }
+        if ((fields & SYNC_COMPOST_LEVEL) != 0) {
+            buf.writeVarInt(compostLevel);
         }
-        markDirty();
     }
 
     @Override
-    public boolean canPlayerUse(PlayerEntity player) {
-        return true;
+    public void readSyncFields(PacketByteBuf buf, int fields) {
+        if ((fields & SYNC_MODE) != 0) {
+            mode = buf.readByte();
+        }
+        if ((fields & SYNC_FLUID) != 0) {
+            fluid = Registries.FLUID.get(buf.readVarInt());
+        }
+        if ((fields & SYNC_FLUID_AMOUNT) != 0) {
+            fluidAmount = (short) buf.readVarInt();
+        }
+        if ((fields & SYNC_COMPOST_LEVEL) != 0) {
+            compostLevel = (short) buf.readVarInt();
+        }
     }
 
-    @Override
-    public void clear() {
-        inventory.clear();
-        markDirty();
+    /**
+     * Transfer API view of the barrel fluid. Only barrels in fluid mode take or give fluid.
+     */
+    private class FluidStorage extends SnapshotParticipant<ResourceAmount<FluidVariant>> implements SingleSlotStorage<FluidVariant> {
+        @Override
+        public long insert(FluidVariant resource, long maxAmount, TransactionContext transaction) {
+            StoragePreconditions.notBlankNotNegative(resource, maxAmount);
+            if (getMode() != BarrelMode.FLUID || !resource.isOf(fluid) || !canHoldFluid(resource)) {
+                return 0;
+            }
+            
+            int inserted = (int) Math.min(maxAmount / DROPLETS_PER_UNIT, MAX_FLUID_AMOUNT - fluidAmount);
+            if (inserted <= 0) {
+                return 0;
+            }
+            updateSnapshots(transaction);
+            fluidAmount += inserted;
+            return inserted * DROPLETS_PER_UNIT;
+        }
+
+        @Override
+        public long extract(FluidVariant resource, long maxAmount, TransactionContext transaction) {
+            StoragePreconditions.notBlankNotNegative(resource, maxAmount);
+            if (getMode() != BarrelMode.FLUID || !resource.isOf(fluid) || resource.hasNbt()) {
+                return 0;
+            }
+            
+            int extracted = (int) Math.min(maxAmount / DROPLETS_PER_UNIT, fluidAmount);
+            if (extracted <= 0) {
+                return 0;
+            }
+            updateSnapshots(transaction);
+            fluidAmount -= extracted;
+            if (fluidAmount == 0) {
+                fluid = Fluids.EMPTY;
+                setMode(BarrelMode.EMPTY);
+            }
+            return extracted * DROPLETS_PER_UNIT;
+        }
+
+        @Override
+        public boolean isResourceBlank() {
+            return getMode() != BarrelMode.FLUID;
+        }
+
+        @Override
+        public FluidVariant getResource() {
+            return getMode() == BarrelMode.FLUID ? FluidVariant.of(fluid) : FluidVariant.blank();
+        }
+
+        @Override
+        public long getAmount() {
+            return getMode() == BarrelMode.FLUID ? fluidAmount * DROPLETS_PER_UNIT : 0;
+        }
+
+        @Override
+        public long getCapacity() {
+            return MAX_FLUID_AMOUNT * DROPLETS_PER_UNIT;
+        }
+
+        @Override
+        protected ResourceAmount<FluidVariant> createSnapshot() {
+            return new ResourceAmount<>(FluidVariant.of(fluid), fluidAmount);
+        }
+
+        @Override
+        protected void readSnapshot(ResourceAmount<FluidVariant> snapshot) {
+            // Only barrels in fluid mode are changed, so the mode follows from the amount
+            fluid = snapshot.resource().getFluid();
+            fluidAmount = (short) snapshot.amount();
+            setMode(fluidAmount > 0 ? BarrelMode.FLUID : BarrelMode.EMPTY);
+        }
+
+        @Override
+        protected void onFinalCommit() {
+            markDirty();
+            markChanged(SYNC_MODE | SYNC_FLUID | SYNC_FLUID_AMOUNT);
+            if (getMode() == BarrelMode.EMPTY && world != null) {
+                BarrelBlock.setEmpty(world, pos, getCachedState());
+            }
+        }
+    }
+
+    /**
+     * Transfer API storage of an empty barrel. The inserted fluid is only kept in the transaction
+     * until it is committed, then the barrel is switched to fluid mode, which creates its block entity.
+     * Every lookup of the same barrel creates a new storage, so the first one to take fluid in a transaction
+     * claims the barrel and the others insert through it, keeping the total within what the barrel can hold.
+     */
+    private static class EmptyFluidStorage extends SnapshotParticipant<ResourceAmount<FluidVariant>> implements InsertionOnlyStorage<FluidVariant> {
+        // Storages holding fluid for an open transaction, only used on the server thread
+        private static final Map<GlobalPos, EmptyFluidStorage> CLAIMED = new HashMap<>();
+        
+        private final World world;
+        private final BlockPos pos;
+        private FluidVariant pendingFluid = FluidVariant.blank();
+        private int pendingAmount = 0;
+
+        private EmptyFluidStorage(World world, BlockPos pos) {
+            this.world = world;
+            this.pos = pos.toImmutable();
+        }
+
+        @Override
+        public long insert(FluidVariant resource, long maxAmount, TransactionContext transaction) {
+            StoragePreconditions.notBlankNotNegative(resource, maxAmount);
+            if (world.isClient || !canHoldFluid(resource)) {
+                return 0;
+            }
+            
+            // A committed insert may already have filled the barrel
+            BlockState state = world.getBlockState(pos);
+            if (!(state.getBlock() instanceof BarrelBlock) || state.get(BarrelBlock.MODE) != BarrelMode.EMPTY) {
+                return 0;
+            }
+            
+            GlobalPos key = GlobalPos.create(world.getRegistryKey(), pos);
+            EmptyFluidStorage owner = CLAIMED.get(key);
+            if (owner == null) {
+                owner = this;
+                CLAIMED.put(key, this);
+                transaction.addOuterCloseCallback(result -> CLAIMED.remove(key));
+            }
+            return owner.insertPending(resource, maxAmount, transaction);
+        }
+        
+        private long insertPending(FluidVariant resource, long maxAmount, TransactionContext transaction) {
+            if (!pendingFluid.isBlank() && !pendingFluid.equals(resource)) {
+                return 0;
+            }
+            
+            int inserted = (int) Math.min(maxAmount / DROPLETS_PER_UNIT, MAX_FLUID_AMOUNT - pendingAmount);
+            if (inserted <= 0) {
+                return 0;
+            }
+            updateSnapshots(transaction);
+            pendingFluid = resource;
+            pendingAmount += inserted;
+            return inserted * DROPLETS_PER_UNIT;
+        }
+
+        @Override
+        protected ResourceAmount<FluidVariant> createSnapshot() {
+            return new ResourceAmount<>(pendingFluid, pendingAmount);
+        }
+
+        @Override
+        protected void readSnapshot(ResourceAmount<FluidVariant> snapshot) {
+            pendingFluid = snapshot.resource();
+            pendingAmount = (int) snapshot.amount();
+        }
+
+        @Override
+        protected void onFinalCommit() {
+            if (pendingAmount <= 0) {
+                return;
+            }
+            
+            // Only the claiming storage holds fluid and it checked the barrel was empty, so all of it fits
+            BlockState state = world.getBlockState(pos);
+            if (state.getBlock() instanceof BarrelBlock && state.get(BarrelBlock.MODE) == BarrelMode.EMPTY) {
+                world.setBlockState(pos, state.with(BarrelBlock.MODE, BarrelMode.FLUID));
+                if (world.getBlockEntity(pos) instanceof BarrelBlockEntity barrelBE) {
+                    barrelBE.addFluid(pendingFluid.getFluid(), pendingAmount);
+                }
+            }
+            pendingFluid = FluidVariant.blank();
+            pendingAmount = 0;
+        }
     }
-}
\ No newline at end of file
+}
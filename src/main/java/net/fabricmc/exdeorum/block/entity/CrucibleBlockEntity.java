@@ -1,41 +1,108 @@
 package net.fabricmc.exdeorum.block.entity;
 
+import net.fabricmc.exdeorum.block.CrucibleBlock;
+import net.fabricmc.exdeorum.machine.CatchUpMachine;
+import net.fabricmc.exdeorum.machine.DeferredDirtyMachine;
+import net.fabricmc.exdeorum.machine.MachineDirtyTracker;
+import net.fabricmc.exdeorum.network.MachineSync;
+import net.fabricmc.exdeorum.network.SyncedMachine;
+import net.fabricmc.exdeorum.recipe.HeatRegistry;
 import net.fabricmc.exdeorum.registry.ModBlockEntities;
+import net.fabricmc.exdeorum.registry.ModGameRules;
+import net.fabricmc.fabric.api.transfer.v1.fluid.FluidConstants;
+import net.fabricmc.fabric.api.transfer.v1.fluid.FluidVariant;
+import net.fabricmc.fabric.api.transfer.v1.storage.StoragePreconditions;
+import net.fabricmc.fabric.api.transfer.v1.storage.base.ExtractionOnlyStorage;
+import net.fabricmc.fabric.api.transfer.v1.storage.base.ResourceAmount;
+import net.fabricmc.fabric.api.transfer.v1.storage.base.SingleSlotStorage;
+import net.fabricmc.fabric.api.transfer.v1.transaction.TransactionContext;
+import net.fabricmc.fabric.api.transfer.v1.transaction.base.SnapshotParticipant;
 import net.minecraft.block.Block;
 import net.minecraft.block.BlockState;
-import net.minecraft.block.Blocks;
 import net.minecraft.block.entity.BlockEntity;
 import net.minecraft.fluid.Fluid;
 import net.minecraft.fluid.Fluids;
 import net.minecraft.item.ItemStack;
 import net.minecraft.nbt.NbtCompound;
+import net.minecraft.network.PacketByteBuf;
+import net.minecraft.network.listener.ClientPlayPacketListener;
+import net.minecraft.network.packet.Packet;
+import net.minecraft.network.packet.s2c.play.BlockEntityUpdateS2CPacket;
+import net.minecraft.registry.Registries;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.math.BlockBox;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
+import net.minecraft.world.tick.WorldTickScheduler;
 
-public class CrucibleBlockEntity extends BlockEntity {
+/**
+ * Crucibles have no ticker. A crucible with something to melt and a heat source schedules
+ * a block tick for when the current batch is done, and goes dormant otherwise.
+ * Dormant crucibles are woken when solids are added, fluid is removed or the block below changes.
+ * The end of the current batch is saved as a game time, so melting also finishes while the chunk is unloaded.
+ * <p>
+ * With the exdeorumContinuousMelting game rule, solid melts at a steady rate set by the heat instead
+ * of in batches. The amounts are computed from the elapsed game time whenever they are read, and the
+ * crucible only wakes up and marks itself dirty each time the fluid crosses a multiple of
+ * {@link #MELT_SYNC_STEP}.
+ * <p>
+ * The amounts and fluid are sent to clients as render data instead of a block state fill level,
+ * and changes are sent as deltas through {@link MachineSync}.
+ * <p>
+ * The melted fluid can be extracted through the Transfer API with {@link #getFluidStorage()},
+ * in steps of {@link #DROPLETS_PER_UNIT} droplets.
+ */
+public class CrucibleBlockEntity extends BlockEntity implements CatchUpMachine, SyncedMachine, DeferredDirtyMachine {
     private static final String SOLID_AMOUNT_KEY = "SolidAmount";
     private static final String FLUID_AMOUNT_KEY = "FluidAmount";
     private static final String FLUID_KEY = "Fluid";
-    private static final String PROCESSING_TIME_KEY = "ProcessingTime";
+    private static final String MELT_DEADLINE_KEY = "MeltDeadline";
+    private static final String MELT_START_KEY = "MeltStart";
+    private static final String MELT_RATE_KEY = "MeltRate";
 
     private static final int MAX_SOLID_AMOUNT = 1000;
     private static final int MAX_FLUID_AMOUNT = 1000;
-    private static final int BASE_PROCESSING_TIME = 200; // 10 seconds at 20 ticks/second
+    private static final int BASE_PROCESSING_TIME = 200; // 10 seconds at 20 ticks/second with heat 1
+    private static final int MELT_RATE_PER_HEAT = 5; // Amount melted per tick and heat level in continuous mode
+    private static final int MELT_SYNC_STEP = 50; // Fluid amount between visible updates in continuous mode
+    private static final int UNKNOWN_HEAT = -1;
+    private static final long NO_DEADLINE = -1;
+    private static final long DROPLETS_PER_UNIT = FluidConstants.BUCKET / MAX_FLUID_AMOUNT;
+    
+    // Synced fields
+    private static final int SYNC_SOLID = 1;
+    private static final int SYNC_FLUID_AMOUNT = 1 << 1;
+    private static final int SYNC_FLUID = 1 << 2;
+    private static final int SYNC_CONTENTS = SYNC_SOLID | SYNC_FLUID_AMOUNT | SYNC_FLUID;
 
     private int solidAmount = 0; // Amount of solid material in the crucible
     private int fluidAmount = 0; // Amount of fluid produced
     private Fluid fluid = Fluids.EMPTY;
-    private int processingTime = 0; // Time left to process current solid into fluid
+    private long meltDeadline = NO_DEADLINE; // Game time the current batch or sync step finishes melting
+    private long meltStart = NO_DEADLINE; // Game time the amounts were last brought up to date in continuous mode
+    private long scheduledTick = NO_DEADLINE; // Game time of the block tick this crucible queued, not saved
+    private int meltRate = 0; // Amount melted per tick in continuous mode
 
-    private boolean isWooden = true; // Determines if it's a wooden or porcelain crucible
+    private final boolean isWooden; // Determines if it's a wooden or porcelain crucible
+    
+    // Heat of the block below, refreshed on neighbor updates and heat registry reloads
+    private byte heat = UNKNOWN_HEAT;
+    private int heatGeneration;
+    
+    // Fields changed since the last client sync
+    private byte changedFields = 0;
+    
+    // Set while a markDirty is waiting for the end of the tick
+    private boolean dirtyQueued = false;
+    
+    private final FluidStorage fluidStorage = new FluidStorage();
 
     public CrucibleBlockEntity(BlockPos pos, BlockState state) {
         super(ModBlockEntities.CRUCIBLE, pos, state);
         
-        // Determine crucible type from the block state
-        // In a real implementation, this would check the block type directly
-        String blockId = state.getBlock().getTranslationKey();
-        isWooden = !blockId.contains("porcelain");
+        // The crucible type is fixed by the block it belongs to
+        isWooden = !(state.getBlock() instanceof CrucibleBlock crucible && crucible.isPorcelain());
     }
 
     public boolean isWooden() {
@@ -43,10 +110,12 @@ public class CrucibleBlockEntity extends BlockEntity {
     }
 
     public int getSolidAmount() {
+        settleMelting();
         return solidAmount;
     }
 
     public int getFluidAmount() {
+        settleMelting();
         return fluidAmount;
     }
 
@@ -61,6 +130,8 @@ public class CrucibleBlockEntity extends BlockEntity {
      * @return True if the item was added
      */
     public boolean addSolid(ItemStack stack, int meltValue) {
+        settleMelting();
+        
         // Check if we have room for more solid
         if (solidAmount >= MAX_SOLID_AMOUNT) {
             return false;
@@ -73,6 +144,8 @@ public class CrucibleBlockEntity extends BlockEntity {
         solidAmount += amountToAdd * meltValue;
         stack.decrement(amountToAdd);
         markDirty();
+        markChanged(SYNC_SOLID);
+        wake();
         return true;
     }
 
@@ -82,6 +155,7 @@ public class CrucibleBlockEntity extends BlockEntity {
      * @return The fluid that was extracted, or EMPTY if none
      */
     public Fluid extractFluid(int amount) {
+        settleMelting();
         if (fluidAmount >= amount && fluid != Fluids.EMPTY) {
             fluidAmount -= amount;
             Fluid extracted = fluid;
@@ -92,6 +166,8 @@ public class CrucibleBlockEntity extends BlockEntity {
             }
             
             markDirty();
+            markChanged(SYNC_FLUID_AMOUNT | SYNC_FLUID);
+            wake();
             return extracted;
         }
         
@@ -99,64 +175,221 @@ public class CrucibleBlockEntity extends BlockEntity {
     }
 
     /**
-     * Check if there is a heat source below the crucible
+     * Get the fluid storage of this crucible for the Transfer API. Fluid can only be extracted.
      */
-    private boolean hasHeatSource(World world, BlockPos pos) {
-        BlockPos belowPos = pos.down();
-        BlockState belowState = world.getBlockState(belowPos);
-        Block belowBlock = belowState.getBlock();
+    public SingleSlotStorage<FluidVariant> getFluidStorage() {
+        return fluidStorage;
+    }
 
-        // For wooden crucibles: only non-fire blocks since they would burn
-        if (isWooden) {
-            // Simple check for a few hot blocks that won't burn wood
-            return belowBlock == Blocks.TORCH || 
-                   belowBlock == Blocks.WALL_TORCH ||
-                   belowBlock == Blocks.SOUL_TORCH ||
-                   belowBlock == Blocks.SOUL_WALL_TORCH;
+    /**
+     * Get the heat of the block below the crucible, using the cached value when it is still valid
+     */
+    public int getHeat(World world, BlockPos pos) {
+        if (heat == UNKNOWN_HEAT || heatGeneration != HeatRegistry.getGeneration()) {
+            updateHeat(world, pos);
+        }
+        return heat;
+    }
+    
+    /**
+     * Read the heat of the block below the crucible again, called when a neighbor changes
+     */
+    public void refreshHeat(World world, BlockPos pos) {
+        if (meltStart != NO_DEADLINE) {
+            // Melt at the old rate up to now, then start over with the new heat
+            settleMelting();
+            meltStart = NO_DEADLINE;
+            meltDeadline = NO_DEADLINE;
+            markDirty();
+            markChanged(SYNC_CONTENTS);
+        }
+        int oldHeat = heat;
+        updateHeat(world, pos);
+        if (meltDeadline != NO_DEADLINE && oldHeat > 0 && heat > 0 && heat != oldHeat && world instanceof ServerWorld serverWorld) {
+            // Finish the running batch as if it had been melting at the new heat from the start
+            long started = meltDeadline - getProcessingTime(oldHeat);
+            meltDeadline = Math.max(world.getTime(), started + getProcessingTime(heat));
+            scheduleMelt(serverWorld);
+            markDirty();
+        }
+        wake();
+    }
+    
+    private void updateHeat(World world, BlockPos pos) {
+        heatGeneration = HeatRegistry.getGeneration();
+        heat = (byte) Math.min(Byte.MAX_VALUE, HeatRegistry.get().getHeat(world.getBlockState(pos.down()), isWooden));
+    }
+    
+    /**
+     * Check if there is solid left to melt and room for the fluid it makes
+     */
+    private boolean canMelt() {
+        return solidAmount > 0 && fluidAmount < MAX_FLUID_AMOUNT;
+    }
+    
+    /**
+     * Start melting the next batch if the crucible can melt and is heated.
+     * Does nothing if a batch is already melting. While melting continuously, the next sync step
+     * is worked out again from the current amounts, as adding solid or taking fluid moves it.
+     */
+    public void wake() {
+        if (!(world instanceof ServerWorld serverWorld) || !canMelt()) {
+            return;
+        }
+        
+        if (meltStart != NO_DEADLINE) {
+            settleMelting();
+            long deadline = world.getTime() + getTicksToNextSyncStep();
+            if (deadline != meltDeadline) {
+                meltDeadline = deadline;
+                scheduleMelt(serverWorld);
+                markDirty();
+            }
+            return;
+        }
+        if (meltDeadline != NO_DEADLINE) {
+            return;
+        }
+        
+        int heat = getHeat(world, pos);
+        if (heat <= 0) {
+            return;
+        }
+        
+        int processingTime;
+        if (world.getGameRules().getBoolean(ModGameRules.CONTINUOUS_MELTING)) {
+            fluid = getMeltFluid();
+            meltStart = world.getTime();
+            meltRate = heat * MELT_RATE_PER_HEAT;
+            processingTime = getTicksToNextSyncStep();
         } else {
-            // For porcelain: check for any heat source
-            return belowBlock == Blocks.FIRE || 
-                   belowBlock == Blocks.SOUL_FIRE ||
-                   belowBlock == Blocks.LAVA ||
-                   belowBlock == Blocks.CAMPFIRE ||
-                   belowBlock == Blocks.SOUL_CAMPFIRE ||
-                   belowBlock == Blocks.MAGMA_BLOCK ||
-                   belowBlock == Blocks.TORCH ||
-                   belowBlock == Blocks.WALL_TORCH ||
-                   belowBlock == Blocks.SOUL_TORCH ||
-                   belowBlock == Blocks.SOUL_WALL_TORCH;
-        }
-    }
-
-    public static void tick(World world, BlockPos pos, BlockState state, CrucibleBlockEntity blockEntity) {
-        if (world.isClient) return;
-
-        // Process solids into fluid if there's a heat source
-        if (blockEntity.solidAmount > 0 && blockEntity.hasHeatSource(world, pos)) {
-            // If we're starting to process a new batch
-            if (blockEntity.processingTime <= 0) {
-                blockEntity.processingTime = BASE_PROCESSING_TIME;
-                
-                // Wooden crucibles can only make water
-                if (blockEntity.isWooden) {
-                    blockEntity.fluid = Fluids.WATER;
-                } else {
-                    // In a real implementation, this would determine the fluid based on the processed item
-                    blockEntity.fluid = Fluids.LAVA;
-                }
+            processingTime = getProcessingTime(heat);
+        }
+        meltDeadline = world.getTime() + processingTime;
+        scheduleMelt(serverWorld);
+        markDirty();
+    }
+    
+    /**
+     * Get the number of ticks a batch takes at a heat, hotter sources process faster
+     */
+    private static int getProcessingTime(int heat) {
+        return Math.max(1, BASE_PROCESSING_TIME / heat);
+    }
+    
+    /**
+     * Make sure a block tick runs by {@link #meltDeadline}. Vanilla keeps a single queued tick per block and
+     * ignores any other, so a queued tick that is due later is cleared first. An earlier one is kept,
+     * it reschedules itself when it fires before the deadline.
+     */
+    private void scheduleMelt(ServerWorld world) {
+        Block block = getCachedState().getBlock();
+        WorldTickScheduler<Block> ticks = world.getBlockTickScheduler();
+        if (ticks.isQueued(pos, block)) {
+            if (scheduledTick != NO_DEADLINE && scheduledTick <= meltDeadline) {
+                return;
             }
+            // Due later, or loaded with the chunk so its time is unknown
+            ticks.clearNextTicks(new BlockBox(pos));
+        }
+        world.scheduleBlockTick(pos, block, (int) Math.max(1, meltDeadline - world.getTime()));
+        scheduledTick = meltDeadline;
+    }
+    
+    /**
+     * Get the fluid this crucible makes
+     */
+    private Fluid getMeltFluid() {
+        // Wooden crucibles only accept items that melt into water, porcelain crucibles melt the rest into lava
+        return isWooden ? Fluids.WATER : Fluids.LAVA;
+    }
+    
+    /**
+     * Get the number of ticks until the fluid reaches the next sync step or stops melting
+     */
+    private int getTicksToNextSyncStep() {
+        int limit = Math.min(fluidAmount + solidAmount, MAX_FLUID_AMOUNT);
+        int next = Math.min(limit, (fluidAmount / MELT_SYNC_STEP + 1) * MELT_SYNC_STEP);
+        return Math.max(1, (next - fluidAmount + meltRate - 1) / meltRate);
+    }
+    
+    /**
+     * Apply the continuous melting since the amounts were last brought up to date.
+     * The saved amounts and start time stay consistent with each other, so this does not need to mark the crucible dirty.
+     */
+    private void settleMelting() {
+        if (meltStart == NO_DEADLINE || world == null || world.isClient) {
+            return;
+        }
+        
+        long now = world.getTime();
+        long elapsed = now - meltStart;
+        if (elapsed <= 0) {
+            return;
+        }
+        
+        int melted = (int) Math.min(Math.min(solidAmount, MAX_FLUID_AMOUNT - fluidAmount), elapsed * meltRate);
+        if (melted > 0) {
+            solidAmount -= melted;
+            fluidAmount += melted;
+            fluid = getMeltFluid();
+        }
+        meltStart = now;
+    }
 
-            // Continue processing
-            blockEntity.processingTime--;
+    /**
+     * Melt the current batch once its deadline has passed, called from the block's scheduled tick
+     */
+    public void onScheduledTick(ServerWorld world, BlockPos pos) {
+        if (meltDeadline == NO_DEADLINE) {
+            return;
+        }
+        
+        long remaining = meltDeadline - world.getTime();
+        if (remaining > 0) {
+            // The tick fired early, wait for the rest
+            scheduleMelt(world);
+            return;
+        }
+        
+        meltDeadline = NO_DEADLINE;
+        markDirty();
+        
+        if (meltStart != NO_DEADLINE) {
+            // Reached a sync step, continue from the new amounts
+            settleMelting();
+            meltStart = NO_DEADLINE;
+            markChanged(SYNC_CONTENTS);
+            wake();
+            return;
+        }
+        
+        // The heat source may have been removed since the batch started
+        if (!canMelt() || getHeat(world, pos) <= 0) {
+            return;
+        }
+        
+        fluid = getMeltFluid();
+        
+        // Convert solid to fluid at 1:1 ratio (can be customized)
+        int solidToConvert = Math.min(solidAmount, MAX_FLUID_AMOUNT - fluidAmount);
+        solidAmount -= solidToConvert;
+        fluidAmount += solidToConvert;
+        markDirty();
+        markChanged(SYNC_CONTENTS);
+        
+        wake();
+    }
 
-            // If processing is complete, convert solid to fluid
-            if (blockEntity.processingTime <= 0) {
-                // Convert solid to fluid at 1:1 ratio (can be customized)
-                int solidToConvert = Math.min(blockEntity.solidAmount, MAX_FLUID_AMOUNT - blockEntity.fluidAmount);
-                blockEntity.solidAmount -= solidToConvert;
-                blockEntity.fluidAmount += solidToConvert;
-                blockEntity.markDirty();
-            }
+    @Override
+    public void catchUp(ServerWorld world) {
+        if (meltDeadline == NO_DEADLINE) {
+            // Crucibles saved while dormant or before melting was deadline based
+            wake();
+        } else {
+            // A batch converts all the solid it has room for, and continuous melting is computed
+            // from the elapsed time, so one step covers any time unloaded
+            onScheduledTick(world, pos);
         }
     }
 
@@ -166,34 +399,183 @@ public class CrucibleBlockEntity extends BlockEntity {
         
         solidAmount = nbt.getInt(SOLID_AMOUNT_KEY);
         fluidAmount = nbt.getInt(FLUID_AMOUNT_KEY);
-        processingTime = nbt.getInt(PROCESSING_TIME_KEY);
-        
-        // In a real implementation, this would properly deserialize the fluid
-        String fluidStr = nbt.getString(FLUID_KEY);
-        if (fluidStr.equals("minecraft:water")) {
-            fluid = Fluids.WATER;
-        } else if (fluidStr.equals("minecraft:lava")) {
-            fluid = Fluids.LAVA;
-        } else {
-            fluid = Fluids.EMPTY;
-        }
+        meltDeadline = nbt.contains(MELT_DEADLINE_KEY) ? nbt.getLong(MELT_DEADLINE_KEY) : NO_DEADLINE;
+        meltStart = nbt.contains(MELT_START_KEY) ? nbt.getLong(MELT_START_KEY) : NO_DEADLINE;
+        meltRate = nbt.getInt(MELT_RATE_KEY);
+        
+        String fluidId = nbt.getString(FLUID_KEY);
+        fluid = fluidId.isEmpty() ? Fluids.EMPTY : Registries.FLUID.get(Identifier.tryParse(fluidId));
     }
 
     @Override
     protected void writeNbt(NbtCompound nbt) {
         super.writeNbt(nbt);
         
+        writeRenderData(nbt);
+        if (meltDeadline != NO_DEADLINE) {
+            nbt.putLong(MELT_DEADLINE_KEY, meltDeadline);
+        }
+        if (meltStart != NO_DEADLINE) {
+            nbt.putLong(MELT_START_KEY, meltStart);
+            nbt.putInt(MELT_RATE_KEY, meltRate);
+        }
+    }
+    
+    /**
+     * Write the state clients need to draw the crucible contents
+     */
+    private void writeRenderData(NbtCompound nbt) {
         nbt.putInt(SOLID_AMOUNT_KEY, solidAmount);
         nbt.putInt(FLUID_AMOUNT_KEY, fluidAmount);
-        nbt.putInt(PROCESSING_TIME_KEY, processingTime);
-        
-        // In a real implementation, this would properly serialize the fluid
-        if (fluid == Fluids.WATER) {
-            nbt.putString(FLUID_KEY, "minecraft:water");
-        } else if (fluid == Fluids.LAVA) {
-            nbt.putString(FLUID_KEY, "minecraft:lava");
+        nbt.putString(FLUID_KEY, fluid == Fluids.EMPTY ? "" : Registries.FLUID.getId(fluid).toString());
+    }
+    
+    /**
+     * Defer marking the chunk dirty to {@link MachineDirtyTracker}, so a crucible changed several times
+     * in a tick only does it once
+     */
+    @Override
+    public void markDirty() {
+        if (dirtyQueued) {
+            MachineDirtyTracker.countCoalesced();
+        } else if (world != null && !world.isClient && MachineDirtyTracker.queue(world, this)) {
+            dirtyQueued = true;
         } else {
-            nbt.putString(FLUID_KEY, "");
+            super.markDirty();
+        }
+    }
+    
+    @Override
+    public void flushDirty() {
+        dirtyQueued = false;
+        if (!isRemoved()) {
+            super.markDirty();
+        }
+    }
+    
+    /**
+     * Mark fields to be sent to clients at the end of the tick
+     */
+    private void markChanged(int fields) {
+        if (world == null || world.isClient) {
+            return;
+        }
+        if (changedFields == 0) {
+            MachineSync.queue(world, this);
+        }
+        changedFields |= (byte) fields;
+    }
+    
+    @Override
+    public int takeChangedFields() {
+        int fields = changedFields;
+        changedFields = 0;
+        return fields;
+    }
+    
+    @Override
+    public void writeSyncFields(PacketByteBuf buf, int fields) {
+        // The continuous melting state is not synced, clients see the amounts at the last sync step
+        if ((fields & SYNC_SOLID) != 0) {
+            buf.writeVarInt(solidAmount);
+        }
+        if ((fields & SYNC_FLUID_AMOUNT) != 0) {
+            buf.writeVarInt(fluidAmount);
+        }
+        if ((fields & SYNC_FLUID) != 0) {
+            buf.writeVarInt(Registries.FLUID.getRawId(fluid));
+        }
+    }
+    
+    @Override
+    public void readSyncFields(PacketByteBuf buf, int fields) {
+        if ((fields & SYNC_SOLID) != 0) {
+            solidAmount = buf.readVarInt();
+        }
+        if ((fields & SYNC_FLUID_AMOUNT) != 0) {
+            fluidAmount = buf.readVarInt();
+        }
+        if ((fields & SYNC_FLUID) != 0) {
+            fluid = Registries.FLUID.get(buf.readVarInt());
+        }
+    }
+    
+    @Override
+    public NbtCompound toInitialChunkDataNbt() {
+        NbtCompound nbt = new NbtCompound();
+        writeRenderData(nbt);
+        return nbt;
+    }
+    
+    /**
+     * Block updates carry the render data too, clients drop deltas for a crucible they do not have yet
+     */
+    @Override
+    public Packet<ClientPlayPacketListener> toUpdatePacket() {
+        return BlockEntityUpdateS2CPacket.create(this);
+    }
+    
+    /**
+     * Transfer API view of the melted fluid
+     */
+    private class FluidStorage extends SnapshotParticipant<ResourceAmount<FluidVariant>>
+            implements SingleSlotStorage<FluidVariant>, ExtractionOnlyStorage<FluidVariant> {
+        @Override
+        public long extract(FluidVariant resource, long maxAmount, TransactionContext transaction) {
+            StoragePreconditions.notBlankNotNegative(resource, maxAmount);
+            settleMelting();
+            if (fluid == Fluids.EMPTY || !resource.isOf(fluid) || resource.hasNbt()) {
+                return 0;
+            }
+            
+            int extracted = (int) Math.min(maxAmount / DROPLETS_PER_UNIT, fluidAmount);
+            if (extracted <= 0) {
+                return 0;
+            }
+            updateSnapshots(transaction);
+            fluidAmount -= extracted;
+            if (fluidAmount == 0) {
+                fluid = Fluids.EMPTY;
+            }
+            return extracted * DROPLETS_PER_UNIT;
+        }
+        
+        @Override
+        public boolean isResourceBlank() {
+            return fluid == Fluids.EMPTY;
+        }
+        
+        @Override
+        public FluidVariant getResource() {
+            return FluidVariant.of(fluid);
+        }
+        
+        @Override
+        public long getAmount() {
+            return getFluidAmount() * DROPLETS_PER_UNIT;
+        }
+        
+        @Override
+        public long getCapacity() {
+            return MAX_FLUID_AMOUNT * DROPLETS_PER_UNIT;
+        }
+        
+        @Override
+        protected ResourceAmount<FluidVariant> createSnapshot() {
+            return new ResourceAmount<>(FluidVariant.of(fluid), fluidAmount);
+        }
+        
+        @Override
+        protected void readSnapshot(ResourceAmount<FluidVariant> snapshot) {
+            fluid = snapshot.resource().getFluid();
+            fluidAmount = (int) snapshot.amount();
+        }
+        
+        @Override
+        protected void onFinalCommit() {
+            markDirty();
+            markChanged(SYNC_FLUID_AMOUNT | SYNC_FLUID);
+            wake();
         }
     }
-}
\ No newline at end of file
+}
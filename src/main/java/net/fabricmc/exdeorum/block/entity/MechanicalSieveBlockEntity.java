@@ -0,0 +1,455 @@
+package net.fabricmc.exdeorum.block.entity;
+
+import net.fabricmc.exdeorum.machine.CatchUpMachine;
+import net.fabricmc.exdeorum.machine.DeferredDirtyMachine;
+import net.fabricmc.exdeorum.machine.MachineDirtyTracker;
+import net.fabricmc.exdeorum.machine.SieveThroughput;
+import net.fabricmc.exdeorum.recipe.ExDeorumRecipes;
+import net.fabricmc.exdeorum.recipe.ItemClassificationIndex;
+import net.fabricmc.exdeorum.recipe.MeshType;
+import net.fabricmc.exdeorum.recipe.SieveDropTable;
+import net.fabricmc.exdeorum.registry.ModBlockEntities;
+import net.fabricmc.exdeorum.registry.ModGameRules;
+import net.fabricmc.exdeorum.registry.ModItems;
+import net.fabricmc.exdeorum.util.MachineRandom;
+import net.fabricmc.fabric.api.transfer.v1.item.InventoryStorage;
+import net.fabricmc.fabric.api.transfer.v1.item.ItemVariant;
+import net.fabricmc.fabric.api.transfer.v1.storage.Storage;
+import net.fabricmc.fabric.api.transfer.v1.storage.base.CombinedStorage;
+import net.fabricmc.fabric.api.transfer.v1.storage.base.SingleStackStorage;
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.entity.BlockEntity;
+import net.minecraft.enchantment.EnchantmentHelper;
+import net.minecraft.enchantment.Enchantments;
+import net.minecraft.item.ItemStack;
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.nbt.NbtElement;
+import net.minecraft.nbt.NbtList;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Direction;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A sieve that works by itself. Every work cycle it sifts a batch of its input with the same
+ * drop tables as the hand sieve, rolling the whole batch at once.
+ * <p>
+ * The batch size is set by the exdeorumMechanicalSieveBatch game rule, and all mechanical sieves
+ * of a server share the exdeorumSieveThroughputCap budget through {@link SieveThroughput}.
+ * Efficiency on the mesh shortens the cycle, Fortune improves the drops.
+ * <p>
+ * There is no ticker. A sieve with input, a mesh and a free output slot schedules its next cycle
+ * and goes dormant otherwise, until automation or a player changes its contents.
+ * Results of a batch that don't fit in the outputs are held by the sieve, which stops working
+ * until they have been moved into the outputs.
+ * Inputs go in from the top, meshes from the sides and results come out of the bottom.
+ */
+public class MechanicalSieveBlockEntity extends BlockEntity implements CatchUpMachine, DeferredDirtyMachine {
+    private static final String MESH_KEY = "Mesh";
+    private static final String INPUT_KEY = "Input";
+    private static final String RANDOM_KEY = "RandomState";
+    private static final String CYCLE_DEADLINE_KEY = "CycleDeadline";
+    private static final String OVERFLOW_KEY = "Overflow";
+
+    private static final int BASE_CYCLE_TIME = 40; // Ticks per cycle with an unenchanted mesh
+    private static final int MAX_BACKOFF = 20; // Most ticks a sieve waits for throughput budget before asking again
+    private static final long NO_DEADLINE = -1;
+
+    private ItemStack meshStack = ItemStack.EMPTY;
+    private ItemStack inputStack = ItemStack.EMPTY;
+    private long cycleDeadline = NO_DEADLINE; // Game time the next cycle runs
+
+    // Enchantment levels of the mesh, read once when the mesh changes
+    private byte fortuneLevel = 0;
+    private byte efficiencyLevel = 0;
+
+    // Seeded from the world seed and position on first use, then saved with the sieve
+    private MachineRandom random;
+
+    // Taking results out frees slots for a sieve that stopped on full outputs
+    private final SieveOutputBuffer outputs = new SieveOutputBuffer(this, this::wake);
+
+    // Results of the last batch that did not fit in the outputs yet
+    private final List<ItemStack> overflow = new ArrayList<>();
+
+    // Transfer API views of the slots, created on first lookup
+    @Nullable
+    private InputStorage inputStorage;
+    @Nullable
+    private MeshStorage meshStorage;
+    @Nullable
+    private Storage<ItemVariant> allSlotsStorage;
+
+    // Shared by all mechanical sieves so a cycle does not allocate a new list, only used on the server thread
+    private static final List<ItemStack> ROLL_BUFFER = new ArrayList<>();
+
+    // Set while a markDirty is waiting for the end of the tick
+    private boolean dirtyQueued = false;
+
+    // Cycles in a row that got no throughput budget, not saved
+    private byte starvedCycles = 0;
+
+    public MechanicalSieveBlockEntity(BlockPos pos, BlockState state) {
+        super(ModBlockEntities.MECHANICAL_SIEVE, pos, state);
+    }
+
+    public ItemStack getMeshStack() {
+        return meshStack;
+    }
+
+    public void setMeshStack(ItemStack stack) {
+        meshStack = stack;
+        updateMeshEnchantments();
+        markDirty();
+        wake();
+    }
+
+    public ItemStack getInputStack() {
+        return inputStack;
+    }
+
+    public SieveOutputBuffer getOutputs() {
+        return outputs;
+    }
+
+    /**
+     * Add as much of a stack to the input as fits, the rest stays in the stack
+     * @return True if anything was added
+     */
+    public boolean addInput(ItemStack stack) {
+        if (!isSiftable(stack)) {
+            return false;
+        }
+        if (!inputStack.isEmpty() && !ItemStack.canCombine(inputStack, stack)) {
+            return false;
+        }
+
+        int moved = Math.min(stack.getCount(), stack.getMaxCount() - inputStack.getCount());
+        if (moved <= 0) {
+            return false;
+        }
+        if (inputStack.isEmpty()) {
+            inputStack = stack.split(moved);
+        } else {
+            inputStack.increment(moved);
+            stack.decrement(moved);
+        }
+        markDirty();
+        wake();
+        return true;
+    }
+
+    private static boolean isSiftable(ItemStack stack) {
+        return !stack.isEmpty() && ItemClassificationIndex.get().isSiftable(stack.getItem());
+    }
+
+    /**
+     * Cache the Fortune and Efficiency levels of the current mesh
+     */
+    private void updateMeshEnchantments() {
+        fortuneLevel = (byte) Math.min(EnchantmentHelper.getLevel(Enchantments.FORTUNE, meshStack), Byte.MAX_VALUE);
+        efficiencyLevel = (byte) Math.min(EnchantmentHelper.getLevel(Enchantments.EFFICIENCY, meshStack), Byte.MAX_VALUE);
+    }
+
+    /**
+     * Check if there is something to sift, a mesh to sift it with and room for the results
+     */
+    private boolean canWork() {
+        return !inputStack.isEmpty() && !meshStack.isEmpty() && overflow.isEmpty() && outputs.hasFreeSlot();
+    }
+
+    /**
+     * Move held back results into the outputs, as far as they fit
+     */
+    private void flushOverflow() {
+        overflow.removeIf(stack -> outputs.insert(stack).isEmpty());
+    }
+
+    /**
+     * Get the number of ticks between cycles, Efficiency cuts it the way it cuts clicks on a hand sieve
+     */
+    private int getCycleTime() {
+        return Math.max(1, BASE_CYCLE_TIME / SieveDropTable.getProgressPerClick(efficiencyLevel));
+    }
+
+    /**
+     * Move held back results into the outputs, then schedule the next cycle if the sieve can work.
+     * Does nothing if one is already scheduled.
+     */
+    public void wake() {
+        if (world == null || world.isClient) {
+            return;
+        }
+        if (!overflow.isEmpty()) {
+            flushOverflow();
+        }
+        if (cycleDeadline != NO_DEADLINE || !canWork()) {
+            return;
+        }
+        scheduleCycle(getCycleTime());
+    }
+
+    private void scheduleCycle(int delay) {
+        cycleDeadline = world.getTime() + delay;
+        world.scheduleBlockTick(pos, getCachedState().getBlock(), delay);
+        markDirty();
+    }
+
+    /**
+     * Sift a batch once the cycle deadline has passed, called from the block's scheduled tick
+     */
+    public void onScheduledTick(ServerWorld world, BlockPos pos) {
+        if (cycleDeadline == NO_DEADLINE) {
+            return;
+        }
+
+        long remaining = cycleDeadline - world.getTime();
+        if (remaining > 0) {
+            // The tick fired early, wait for the rest
+            world.scheduleBlockTick(pos, getCachedState().getBlock(), (int) remaining);
+            return;
+        }
+
+        cycleDeadline = NO_DEADLINE;
+        markDirty();
+        if (!canWork()) {
+            return;
+        }
+
+        int requested = Math.min(inputStack.getCount(), world.getGameRules().getInt(ModGameRules.MECHANICAL_SIEVE_BATCH));
+        int batch = SieveThroughput.take(world.getServer(), requested);
+        if (batch <= 0) {
+            // The server is at its cap for this tick, wait longer each time so starved sieves
+            // don't all ask again on every tick: 1, 2, 4, 8, 16, then 20 ticks
+            scheduleCycle(Math.min(1 << starvedCycles, MAX_BACKOFF));
+            if (1 << starvedCycles < MAX_BACKOFF) {
+                starvedCycles++;
+            }
+            return;
+        }
+        starvedCycles = 0;
+
+        siftBatch(batch);
+        wake();
+    }
+
+    private void siftBatch(int batch) {
+        MeshType mesh = ModItems.getMeshType(meshStack.getItem());
+        Block input = Block.getBlockFromItem(inputStack.getItem());
+        inputStack.decrement(batch);
+        if (inputStack.isEmpty()) {
+            inputStack = ItemStack.EMPTY;
+        }
+
+        if (mesh != null) {
+            ExDeorumRecipes.rollSieveBatch(input, mesh, fortuneLevel, batch, getRandom(), ROLL_BUFFER);
+            for (int i = 0; i < ROLL_BUFFER.size(); i++) {
+                ItemStack rest = outputs.insert(ROLL_BUFFER.get(i));
+                if (!rest.isEmpty()) {
+                    // The batch gave more than the free slots hold, keep the rest until there is room
+                    overflow.add(rest);
+                }
+            }
+            ROLL_BUFFER.clear();
+        }
+        markDirty();
+    }
+
+    /**
+     * Get the random source used for this sieve's drops
+     */
+    private MachineRandom getRandom() {
+        if (random == null) {
+            random = MachineRandom.forPosition(world, pos);
+        }
+        return random;
+    }
+
+    @Override
+    public void catchUp(ServerWorld world) {
+        if (cycleDeadline == NO_DEADLINE) {
+            wake();
+        } else {
+            // Only the cycle that was due runs, sieves don't work while unloaded
+            onScheduledTick(world, pos);
+        }
+    }
+
+    /**
+     * Get all the items that should drop when the block is broken
+     */
+    public List<ItemStack> getDrops() {
+        List<ItemStack> drops = new ArrayList<>();
+        if (!meshStack.isEmpty()) {
+            drops.add(meshStack);
+        }
+        if (!inputStack.isEmpty()) {
+            drops.add(inputStack);
+        }
+        outputs.addDrops(drops);
+        for (ItemStack stack : overflow) {
+            drops.add(stack.copy());
+        }
+        return drops;
+    }
+
+    /**
+     * Get the item storage of this sieve for the Transfer API
+     * @param side The side it is accessed from, or null for all slots
+     */
+    public Storage<ItemVariant> getItemStorage(@Nullable Direction side) {
+        if (inputStorage == null) {
+            inputStorage = new InputStorage();
+            meshStorage = new MeshStorage();
+        }
+        if (side == null) {
+            if (allSlotsStorage == null) {
+                allSlotsStorage = new CombinedStorage<>(List.<Storage<ItemVariant>>of(inputStorage, meshStorage, InventoryStorage.of(outputs, null)));
+            }
+            return allSlotsStorage;
+        }
+        return switch (side) {
+            case UP -> inputStorage;
+            case DOWN -> InventoryStorage.of(outputs, side);
+            default -> meshStorage;
+        };
+    }
+
+    @Override
+    public void readNbt(NbtCompound nbt) {
+        super.readNbt(nbt);
+
+        meshStack = nbt.contains(MESH_KEY) ? ItemStack.fromNbt(nbt.getCompound(MESH_KEY)) : ItemStack.EMPTY;
+        updateMeshEnchantments();
+        inputStack = nbt.contains(INPUT_KEY) ? ItemStack.fromNbt(nbt.getCompound(INPUT_KEY)) : ItemStack.EMPTY;
+        cycleDeadline = nbt.contains(CYCLE_DEADLINE_KEY) ? nbt.getLong(CYCLE_DEADLINE_KEY) : NO_DEADLINE;
+        if (nbt.contains(RANDOM_KEY)) {
+            random = new MachineRandom(nbt.getLong(RANDOM_KEY));
+        }
+        outputs.readNbt(nbt);
+        overflow.clear();
+        NbtList held = nbt.getList(OVERFLOW_KEY, NbtElement.COMPOUND_TYPE);
+        for (int i = 0; i < held.size(); i++) {
+            ItemStack stack = ItemStack.fromNbt(held.getCompound(i));
+            if (!stack.isEmpty()) {
+                overflow.add(stack);
+            }
+        }
+    }
+
+    @Override
+    protected void writeNbt(NbtCompound nbt) {
+        super.writeNbt(nbt);
+
+        if (!meshStack.isEmpty()) {
+            nbt.put(MESH_KEY, meshStack.writeNbt(new NbtCompound()));
+        }
+        if (!inputStack.isEmpty()) {
+            nbt.put(INPUT_KEY, inputStack.writeNbt(new NbtCompound()));
+        }
+        if (cycleDeadline != NO_DEADLINE) {
+            nbt.putLong(CYCLE_DEADLINE_KEY, cycleDeadline);
+        }
+        if (random != null) {
+            nbt.putLong(RANDOM_KEY, random.getState());
+        }
+        outputs.writeNbt(nbt);
+        if (!overflow.isEmpty()) {
+            NbtList held = new NbtList();
+            for (ItemStack stack : overflow) {
+                held.add(stack.writeNbt(new NbtCompound()));
+            }
+            nbt.put(OVERFLOW_KEY, held);
+        }
+    }
+
+    /**
+     * Defer marking the chunk dirty to {@link MachineDirtyTracker}, so a sieve changed several times
+     * in a tick only does it once
+     */
+    @Override
+    public void markDirty() {
+        if (dirtyQueued) {
+            MachineDirtyTracker.countCoalesced();
+        } else if (world != null && !world.isClient && MachineDirtyTracker.queue(world, this)) {
+            dirtyQueued = true;
+        } else {
+            super.markDirty();
+        }
+    }
+
+    @Override
+    public void flushDirty() {
+        dirtyQueued = false;
+        if (!isRemoved()) {
+            super.markDirty();
+        }
+    }
+
+    /**
+     * Transfer API view of the input slot, which takes a stack of one siftable item
+     */
+    private class InputStorage extends SingleStackStorage {
+        @Override
+        protected ItemStack getStack() {
+            return inputStack;
+        }
+
+        @Override
+        protected void setStack(ItemStack stack) {
+            inputStack = stack;
+        }
+
+        @Override
+        protected boolean canInsert(ItemVariant itemVariant) {
+            return ItemClassificationIndex.get().isSiftable(itemVariant.getItem());
+        }
+
+        @Override
+        protected boolean canExtract(ItemVariant itemVariant) {
+            return false;
+        }
+
+        @Override
+        protected void onFinalCommit() {
+            markDirty();
+            wake();
+        }
+    }
+
+    /**
+     * Transfer API view of the mesh slot, which holds a single mesh
+     */
+    private class MeshStorage extends SingleStackStorage {
+        @Override
+        protected ItemStack getStack() {
+            return meshStack;
+        }
+
+        @Override
+        protected void setStack(ItemStack stack) {
+            meshStack = stack;
+        }
+
+        @Override
+        protected boolean canInsert(ItemVariant itemVariant) {
+            return ItemClassificationIndex.get().isMesh(itemVariant.getItem());
+        }
+
+        @Override
+        protected int getCapacity(ItemVariant itemVariant) {
+            return 1;
+        }
+
+        @Override
+        protected void onFinalCommit() {
+            updateMeshEnchantments();
+            markDirty();
+            wake();
+        }
+    }
+}
@@ -1,36 +1,120 @@
 package net.fabricmc.exdeorum.block.entity;
 
+import net.fabricmc.exdeorum.block.SieveBlock;
+import net.fabricmc.exdeorum.machine.CatchUpMachine;
+import net.fabricmc.exdeorum.machine.DeferredDirtyMachine;
+import net.fabricmc.exdeorum.machine.MachineDirtyTracker;
+import net.fabricmc.exdeorum.network.MachineSync;
+import net.fabricmc.exdeorum.network.SyncedMachine;
+import net.fabricmc.exdeorum.recipe.ExDeorumRecipes;
+import net.fabricmc.exdeorum.recipe.ItemClassificationIndex;
+import net.fabricmc.exdeorum.recipe.MeshType;
+import net.fabricmc.exdeorum.recipe.SieveDropTable;
 import net.fabricmc.exdeorum.registry.ModBlockEntities;
+import net.fabricmc.exdeorum.registry.ModItems;
+import net.fabricmc.exdeorum.util.MachineRandom;
+import net.fabricmc.fabric.api.transfer.v1.item.InventoryStorage;
+import net.fabricmc.fabric.api.transfer.v1.item.ItemVariant;
+import net.fabricmc.fabric.api.transfer.v1.storage.Storage;
+import net.fabricmc.fabric.api.transfer.v1.storage.StoragePreconditions;
+import net.fabricmc.fabric.api.transfer.v1.storage.base.CombinedStorage;
+import net.fabricmc.fabric.api.transfer.v1.storage.base.InsertionOnlyStorage;
+import net.fabricmc.fabric.api.transfer.v1.storage.base.SingleStackStorage;
+import net.fabricmc.fabric.api.transfer.v1.transaction.TransactionContext;
+import net.fabricmc.fabric.api.transfer.v1.transaction.base.SnapshotParticipant;
+import net.minecraft.block.Block;
 import net.minecraft.block.BlockState;
 import net.minecraft.block.entity.BlockEntity;
-import net.minecraft.entity.player.PlayerEntity;
-import net.minecraft.inventory.Inventories;
-import net.minecraft.inventory.Inventory;
-import net.minecraft.item.Item;
+import net.minecraft.enchantment.EnchantmentHelper;
+import net.minecraft.enchantment.Enchantments;
 import net.minecraft.item.ItemStack;
+import net.minecraft.item.Item;
+import net.minecraft.item.Items;
+import net.minecraft.nbt.NbtElement;
+import net.minecraft.nbt.NbtList;
 import net.minecraft.nbt.NbtCompound;
-import net.minecraft.util.collection.DefaultedList;
+import net.minecraft.network.PacketByteBuf;
+import net.minecraft.network.listener.ClientPlayPacketListener;
+import net.minecraft.network.packet.Packet;
+import net.minecraft.network.packet.s2c.play.BlockEntityUpdateS2CPacket;
+import net.minecraft.registry.Registries;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.Identifier;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.Direction;
 import net.minecraft.world.World;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Random;
 
-public class SieveBlockEntity extends BlockEntity implements Inventory {
+/**
+ * Mesh, input and progress are sent to clients as render data, the outputs stay on the server.
+ * Changes are sent as deltas through {@link MachineSync}.
+ * <p>
+ * Automation reaches the sieve through the Transfer API: inputs go in from the top and the sides,
+ * results come out of the {@link SieveOutputBuffer} from the bottom, and meshes go into sieves
+ * without one through {@link #createMeshStorage}. Inputs are only accepted while few enough sifts
+ * are waiting to be rolled, results that still don't fit are dropped on top of the sieve.
+ * <p>
+ * Completing a sift only counts it per input item. The drops are rolled while the outputs have room,
+ * when the sift completes or once results are taken out, or all at once when the sieve is broken,
+ * so a backed up sieve holds a few counters instead of stacks.
+ */
+public class SieveBlockEntity extends BlockEntity implements CatchUpMachine, SyncedMachine, DeferredDirtyMachine {
     private static final String MESH_KEY = "Mesh";
     private static final String INPUT_KEY = "Input";
     private static final String PROGRESS_KEY = "Progress";
+    private static final String RANDOM_KEY = "RandomState";
+    private static final String PENDING_KEY = "Pending";
+    private static final String PENDING_INPUT_KEY = "id";
+    private static final String PENDING_COUNT_KEY = "Count";
     
     private static final int MAX_PROGRESS = 7; // Number of clicks to complete sieving
+    private static final int MAX_AUTOMATED_PENDING = 64; // Sifts automation may queue up before inputs are refused
+    
+    // Synced fields
+    private static final int SYNC_MESH = 1;
+    private static final int SYNC_INPUT = 1 << 1;
+    private static final int SYNC_PROGRESS = 1 << 2;
     
     private ItemStack meshStack = ItemStack.EMPTY;
     private ItemStack inputStack = ItemStack.EMPTY;
-    private int progress = 0;
+    private byte progress = 0;
+    
+    // Enchantment levels of the mesh, read once when the mesh changes instead of on every click
+    private byte fortuneLevel = 0;
+    private byte efficiencyLevel = 0;
+    
+    // Seeded from the world seed and position on first use, then saved with the sieve
+    private MachineRandom random;
+    
+    // Items that have not been collected yet
+    private final SieveOutputBuffer outputs = new SieveOutputBuffer(this, this::fillOutputs);
+    
+    // Completed sifts whose drops have not been rolled yet, as runs of the same input in completion order
+    @Nullable
+    private Item[] pendingInputs;
+    @Nullable
+    private int[] pendingCounts;
+    private int pendingRuns = 0;
+    private int pendingTotal = 0;
+    
+    // Transfer API views, created on first lookup
+    @Nullable
+    private InputStorage inputStorage;
+    @Nullable
+    private Storage<ItemVariant> allSlotsStorage;
+    
+    // Shared by all sieves so completing a sieve does not allocate a new list, only used on the server thread
+    private static final List<ItemStack> ROLL_BUFFER = new ArrayList<>();
     
-    // Store items that have not been collected yet
-    private DefaultedList<ItemStack> outputItems = DefaultedList.ofSize(9, ItemStack.EMPTY);
+    // Fields changed since the last client sync
+    private byte changedFields = 0;
+    
+    // Set while a markDirty is waiting for the end of the tick
+    private boolean dirtyQueued = false;
     
     public SieveBlockEntity(BlockPos pos, BlockState state) {
         super(ModBlockEntities.SIEVE, pos, state);
@@ -42,7 +126,9 @@ public class SieveBlockEntity extends BlockEntity implements Inventory {
     
     public void setMeshStack(ItemStack stack) {
         this.meshStack = stack;
+        updateMeshEnchantments();
         markDirty();
+        markChanged(SYNC_MESH);
     }
     
     public ItemStack getInputStack() {
@@ -53,12 +139,25 @@ public class SieveBlockEntity extends BlockEntity implements Inventory {
         this.inputStack = stack;
         this.progress = 0;
         markDirty();
+        markChanged(SYNC_INPUT | SYNC_PROGRESS);
     }
     
     public int getProgress() {
         return progress;
     }
     
+    public SieveOutputBuffer getOutputs() {
+        return outputs;
+    }
+    
+    /**
+     * Cache the Fortune and Efficiency levels of the current mesh
+     */
+    private void updateMeshEnchantments() {
+        fortuneLevel = (byte) Math.min(EnchantmentHelper.getLevel(Enchantments.FORTUNE, meshStack), Byte.MAX_VALUE);
+        efficiencyLevel = (byte) Math.min(EnchantmentHelper.getLevel(Enchantments.EFFICIENCY, meshStack), Byte.MAX_VALUE);
+    }
+    
     public boolean hasMesh() {
         return !meshStack.isEmpty();
     }
@@ -76,69 +175,123 @@ public class SieveBlockEntity extends BlockEntity implements Inventory {
             return false;
         }
         
-        progress++;
+        progress = (byte) Math.min(progress + SieveDropTable.getProgressPerClick(efficiencyLevel), MAX_PROGRESS);
         markDirty();
         
-        if (progress >= MAX_PROGRESS) {
-            if (!world.isClient) {
-                generateResults();
-            }
-            return true;
+        boolean complete = progress >= MAX_PROGRESS;
+        if (complete && !world.isClient) {
+            generateResults();
         }
         
-        return false;
+        markChanged(complete ? SYNC_INPUT | SYNC_PROGRESS : SYNC_PROGRESS);
+        return complete;
     }
     
     /**
-     * Generate the results of sieving based on the mesh and input
+     * Count the completed sift, its drops are rolled when they are needed
      */
     private void generateResults() {
-        // In a real implementation, this would check for recipes
-        // For now, we'll implement a simple example
-        
-        Random random = new Random();
-        Item mesh = meshStack.getItem();
         Item input = inputStack.getItem();
         
         // Clear the input
         inputStack = ItemStack.EMPTY;
         progress = 0;
         
-        // TODO: Replace with actual recipe lookups
-        // For testing, we'll generate a random number of items (1-3)
-        int resultCount = random.nextInt(3) + 1;
-        
-        // Temporary: just return the mesh item as result for testing
-        ItemStack result = new ItemStack(mesh, 1);
-        addResult(result);
-        
+        addPending(input, 1);
         markDirty();
+        
+        // Roll right away while there is room, later sifts wait for results to be taken out
+        fillOutputs();
     }
     
     /**
-     * Add an item to the output inventory
+     * Get the number of completed sifts whose drops have not been rolled yet
      */
-    private void addResult(ItemStack stack) {
-        for (int i = 0; i < outputItems.size(); i++) {
-            ItemStack current = outputItems.get(i);
-            if (current.isEmpty()) {
-                outputItems.set(i, stack);
-                return;
+    public int getPendingCount() {
+        return pendingTotal;
+    }
+    
+    private void addPending(Item input, int count) {
+        if (pendingRuns > 0 && pendingInputs[pendingRuns - 1] == input) {
+            pendingCounts[pendingRuns - 1] += count;
+        } else {
+            if (pendingInputs == null) {
+                pendingInputs = new Item[2];
+                pendingCounts = new int[2];
+            } else if (pendingRuns == pendingInputs.length) {
+                pendingInputs = Arrays.copyOf(pendingInputs, pendingRuns * 2);
+                pendingCounts = Arrays.copyOf(pendingCounts, pendingRuns * 2);
             }
+            pendingInputs[pendingRuns] = input;
+            pendingCounts[pendingRuns] = count;
+            pendingRuns++;
+        }
+        pendingTotal += count;
+    }
+    
+    /**
+     * Take up to a number of pending sifts from the oldest run
+     * @return The number of sifts taken, all of the input that was first in line
+     */
+    private int takePending(int max) {
+        int taken = Math.min(max, pendingCounts[0]);
+        pendingCounts[0] -= taken;
+        pendingTotal -= taken;
+        if (pendingCounts[0] == 0) {
+            pendingRuns--;
+            System.arraycopy(pendingInputs, 1, pendingInputs, 0, pendingRuns);
+            System.arraycopy(pendingCounts, 1, pendingCounts, 0, pendingRuns);
+            pendingInputs[pendingRuns] = null;
+            if (pendingRuns == 0) {
+                pendingInputs = null;
+                pendingCounts = null;
+            }
+        }
+        return taken;
+    }
+    
+    /**
+     * Roll the drops of a number of sifts of the same input
+     */
+    private void rollDrops(Item input, int count, List<ItemStack> out) {
+        MeshType mesh = ModItems.getMeshType(meshStack.getItem());
+        if (mesh != null) {
+            ExDeorumRecipes.rollSieveBatch(Block.getBlockFromItem(input), mesh, fortuneLevel, count, getRandom(), out);
+        }
+    }
+    
+    /**
+     * Roll pending sifts one at a time into the outputs while they have a free slot
+     */
+    private void fillOutputs() {
+        if (pendingTotal == 0 || world == null || world.isClient) {
+            return;
         }
         
-        // If we get here, there's no space - drop the item
-        if (world != null) {
-            dropStack(world, pos, Direction.UP, stack);
+        while (pendingTotal > 0 && outputs.hasFreeSlot()) {
+            Item input = pendingInputs[0];
+            takePending(1);
+            rollDrops(input, 1, ROLL_BUFFER);
+            for (int i = 0; i < ROLL_BUFFER.size(); i++) {
+                ItemStack rest = outputs.insert(ROLL_BUFFER.get(i));
+                if (!rest.isEmpty()) {
+                    // One sift gave more than the free slots hold, don't lose the rest
+                    Block.dropStack(world, pos.up(), rest);
+                }
+            }
+            ROLL_BUFFER.clear();
         }
+        markDirty();
     }
     
     /**
-     * Drop a stack in the world
+     * Get the random source used for this sieve's drops
      */
-    private static void dropStack(World world, BlockPos pos, Direction direction, ItemStack stack) {
-        // In a full implementation, this would use the proper item dropping method
-        // For now, this is just a placeholder
+    private MachineRandom getRandom() {
+        if (random == null) {
+            random = MachineRandom.forPosition(world, pos);
+        }
+        return random;
     }
     
     /**
@@ -155,38 +308,93 @@ public class SieveBlockEntity extends BlockEntity implements Inventory {
             drops.add(inputStack);
         }
         
-        for (ItemStack stack : outputItems) {
-            if (!stack.isEmpty()) {
-                drops.add(stack);
+        outputs.addDrops(drops);
+        
+        // Whatever is still pending is rolled in batches, the sieve is going away
+        boolean canRoll = ModItems.getMeshType(meshStack.getItem()) != null;
+        while (pendingTotal > 0) {
+            Item input = pendingInputs[0];
+            int count = takePending(Integer.MAX_VALUE);
+            if (canRoll) {
+                rollDrops(input, count, drops);
+            } else {
+                // Without a mesh there is nothing to roll with, give the inputs back instead
+                addInputStacks(input, count, drops);
             }
         }
         
         return drops;
     }
     
+    private static void addInputStacks(Item input, int count, List<ItemStack> out) {
+        int maxCount = input.getMaxCount();
+        while (count > 0) {
+            int stackCount = Math.min(count, maxCount);
+            out.add(new ItemStack(input, stackCount));
+            count -= stackCount;
+        }
+    }
+    
     @Override
     public void readNbt(NbtCompound nbt) {
         super.readNbt(nbt);
         
-        if (nbt.contains(MESH_KEY)) {
-            meshStack = ItemStack.fromNbt(nbt.getCompound(MESH_KEY));
-        }
+        meshStack = nbt.contains(MESH_KEY) ? ItemStack.fromNbt(nbt.getCompound(MESH_KEY)) : ItemStack.EMPTY;
+        updateMeshEnchantments();
+        
+        inputStack = nbt.contains(INPUT_KEY) ? ItemStack.fromNbt(nbt.getCompound(INPUT_KEY)) : ItemStack.EMPTY;
         
-        if (nbt.contains(INPUT_KEY)) {
-            inputStack = ItemStack.fromNbt(nbt.getCompound(INPUT_KEY));
+        progress = nbt.getByte(PROGRESS_KEY);
+        
+        if (nbt.contains(RANDOM_KEY)) {
+            random = new MachineRandom(nbt.getLong(RANDOM_KEY));
         }
         
-        progress = nbt.getInt(PROGRESS_KEY);
+        outputs.readNbt(nbt);
         
-        // Read output items
-        outputItems = DefaultedList.ofSize(9, ItemStack.EMPTY);
-        Inventories.readNbt(nbt, outputItems);
+        pendingInputs = null;
+        pendingCounts = null;
+        pendingRuns = 0;
+        pendingTotal = 0;
+        NbtList pending = nbt.getList(PENDING_KEY, NbtElement.COMPOUND_TYPE);
+        for (int i = 0; i < pending.size(); i++) {
+            NbtCompound run = pending.getCompound(i);
+            Item input = Registries.ITEM.get(Identifier.tryParse(run.getString(PENDING_INPUT_KEY)));
+            int count = run.getInt(PENDING_COUNT_KEY);
+            if (input != Items.AIR && count > 0) {
+                addPending(input, count);
+            }
+        }
     }
     
     @Override
     protected void writeNbt(NbtCompound nbt) {
         super.writeNbt(nbt);
         
+        writeRenderData(nbt);
+        
+        if (random != null) {
+            nbt.putLong(RANDOM_KEY, random.getState());
+        }
+        
+        outputs.writeNbt(nbt);
+        
+        if (pendingRuns > 0) {
+            NbtList pending = new NbtList();
+            for (int i = 0; i < pendingRuns; i++) {
+                NbtCompound run = new NbtCompound();
+                run.putString(PENDING_INPUT_KEY, Registries.ITEM.getId(pendingInputs[i]).toString());
+                run.putInt(PENDING_COUNT_KEY, pendingCounts[i]);
+                pending.add(run);
+            }
+            nbt.put(PENDING_KEY, pending);
+        }
+    }
+    
+    /**
+     * Write the state clients need to draw the sieve
+     */
+    private void writeRenderData(NbtCompound nbt) {
         if (!meshStack.isEmpty()) {
             nbt.put(MESH_KEY, meshStack.writeNbt(new NbtCompound()));
         }
@@ -195,64 +403,246 @@ public class SieveBlockEntity extends BlockEntity implements Inventory {
             nbt.put(INPUT_KEY, inputStack.writeNbt(new NbtCompound()));
         }
         
-        nbt.putInt(PROGRESS_KEY, progress);
-        
-        // Write output items
-        Inventories.writeNbt(nbt, outputItems);
+        nbt.putByte(PROGRESS_KEY, progress);
     }
     
-    // Inventory implementation
     @Override
-    public int size() {
-        return outputItems.size();
+    public void catchUp(ServerWorld world) {
+        // Sieves saved before the mesh was part of the block state
+        BlockState state = getCachedState();
+        if (hasMesh() && !state.get(SieveBlock.HAS_MESH)) {
+            world.setBlockState(pos, state.with(SieveBlock.HAS_MESH, true));
+        } else if (!hasMesh()) {
+            for (ItemStack drop : getDrops()) {
+                Block.dropStack(world, pos, drop);
+            }
+            SieveBlock.removeMesh(world, pos, state);
+        }
     }
     
+    /**
+     * Removing the mesh keeps the block, so the client drops its stale block entity itself
+     * when the meshless state arrives, see {@link SieveBlock#removeMesh}
+     */
     @Override
-    public boolean isEmpty() {
-        for (ItemStack stack : outputItems) {
-            if (!stack.isEmpty()) {
-                return false;
-            }
+    @SuppressWarnings("deprecation")
+    public void setCachedState(BlockState state) {
+        super.setCachedState(state);
+        if (world != null && world.isClient && !state.get(SieveBlock.HAS_MESH)) {
+            world.removeBlockEntity(pos);
         }
-        return true;
     }
     
+    /**
+     * Defer marking the chunk dirty to {@link MachineDirtyTracker}, so a sieve changed several times
+     * in a tick only does it once
+     */
     @Override
-    public ItemStack getStack(int slot) {
-        return outputItems.get(slot);
+    public void markDirty() {
+        if (dirtyQueued) {
+            MachineDirtyTracker.countCoalesced();
+        } else if (world != null && !world.isClient && MachineDirtyTracker.queue(world, this)) {
+            dirtyQueued = true;
+        } else {
+            super.markDirty();
+        }
     }
     
     @Override
-    public ItemStack removeStack(int slot, int amount) {
-        ItemStack result = Inventories.splitStack(outputItems, slot, amount);
-        if (!result.isEmpty()) {
-            markDirty();
+    public void flushDirty() {
+        dirtyQueued = false;
+        if (!isRemoved()) {
+            super.markDirty();
         }
-        return result;
+    }
+    
+    /**
+     * Mark fields to be sent to clients at the end of the tick
+     */
+    private void markChanged(int fields) {
+        if (world == null || world.isClient) {
+            return;
+        }
+        if (changedFields == 0) {
+            MachineSync.queue(world, this);
+        }
+        changedFields |= (byte) fields;
     }
     
     @Override
-    public ItemStack removeStack(int slot) {
-        return Inventories.removeStack(outputItems, slot);
+    public int takeChangedFields() {
+        int fields = changedFields;
+        changedFields = 0;
+        return fields;
     }
     
     @Override
-    public void setStack(int slot, ItemStack stack) {
-        outputItems.set(slot, stack);
-        if (stack.getCount() > getMaxCountPerStack()) {
-            stack.setCount(getMaxCountPerStack());
+    public void writeSyncFields(PacketByteBuf buf, int fields) {
+        if ((fields & SYNC_MESH) != 0) {
+            buf.writeVarInt(Registries.ITEM.getRawId(meshStack.getItem()));
+        }
+        if ((fields & SYNC_INPUT) != 0) {
+            buf.writeVarInt(Registries.ITEM.getRawId(inputStack.getItem()));
+        }
+        if ((fields & SYNC_PROGRESS) != 0) {
+            buf.writeByte(progress);
         }
-        markDirty();
     }
     
     @Override
-    public boolean canPlayerUse(PlayerEntity player) {
-        return true;
+    public void readSyncFields(PacketByteBuf buf, int fields) {
+        if ((fields & SYNC_MESH) != 0) {
+            meshStack = readItem(buf);
+            updateMeshEnchantments();
+        }
+        if ((fields & SYNC_INPUT) != 0) {
+            inputStack = readItem(buf);
+        }
+        if ((fields & SYNC_PROGRESS) != 0) {
+            progress = buf.readByte();
+        }
+    }
+    
+    private static ItemStack readItem(PacketByteBuf buf) {
+        Item item = Registries.ITEM.get(buf.readVarInt());
+        return new ItemStack(item);
     }
     
     @Override
-    public void clear() {
-        outputItems.clear();
-        markDirty();
+    public NbtCompound toInitialChunkDataNbt() {
+        NbtCompound nbt = new NbtCompound();
+        writeRenderData(nbt);
+        return nbt;
+    }
+    
+    /**
+     * Send the render data with the block update that adds the mesh, deltas before it are dropped
+     */
+    @Override
+    public Packet<ClientPlayPacketListener> toUpdatePacket() {
+        return BlockEntityUpdateS2CPacket.create(this);
+    }
+    
+    /**
+     * Get the item storage of this sieve for the Transfer API
+     * @param side The side it is accessed from, or null for all slots
+     */
+    public Storage<ItemVariant> getItemStorage(@Nullable Direction side) {
+        if (inputStorage == null) {
+            inputStorage = new InputStorage();
+        }
+        if (side == Direction.DOWN) {
+            return InventoryStorage.of(outputs, side);
+        }
+        if (side == null) {
+            if (allSlotsStorage == null) {
+                allSlotsStorage = new CombinedStorage<>(List.<Storage<ItemVariant>>of(inputStorage, InventoryStorage.of(outputs, null)));
+            }
+            return allSlotsStorage;
+        }
+        return inputStorage;
+    }
+    
+    /**
+     * Create an item storage for a sieve without a mesh, which has no block entity.
+     * A mesh inserted into it is put into the sieve when the transaction is committed.
+     */
+    public static InsertionOnlyStorage<ItemVariant> createMeshStorage(World world, BlockPos pos) {
+        return new MeshStorage(world, pos);
+    }
+    
+    /**
+     * Transfer API view of the input slot, which takes one siftable item while the outputs are not backed up
+     */
+    private class InputStorage extends SingleStackStorage {
+        @Override
+        protected ItemStack getStack() {
+            return inputStack;
+        }
+        
+        @Override
+        protected void setStack(ItemStack stack) {
+            inputStack = stack;
+        }
+        
+        @Override
+        protected boolean canInsert(ItemVariant itemVariant) {
+            return hasMesh() && pendingTotal < MAX_AUTOMATED_PENDING
+                    && ItemClassificationIndex.get().isSiftable(itemVariant.getItem());
+        }
+        
+        @Override
+        protected boolean canExtract(ItemVariant itemVariant) {
+            return false;
+        }
+        
+        @Override
+        protected int getCapacity(ItemVariant itemVariant) {
+            return 1;
+        }
+        
+        @Override
+        protected void onFinalCommit() {
+            progress = 0;
+            markDirty();
+            markChanged(SYNC_INPUT | SYNC_PROGRESS);
+        }
+    }
+    
+    /**
+     * Transfer API storage of a sieve without a mesh. The mesh is only kept in the transaction
+     * until it is committed, then the sieve gets its mesh, which creates its block entity.
+     */
+    private static class MeshStorage extends SnapshotParticipant<ItemVariant> implements InsertionOnlyStorage<ItemVariant> {
+        private final World world;
+        private final BlockPos pos;
+        private ItemVariant pendingMesh = ItemVariant.blank();
+        
+        private MeshStorage(World world, BlockPos pos) {
+            this.world = world;
+            this.pos = pos.toImmutable();
+        }
+        
+        @Override
+        public long insert(ItemVariant resource, long maxAmount, TransactionContext transaction) {
+            StoragePreconditions.notBlankNotNegative(resource, maxAmount);
+            if (maxAmount < 1 || !pendingMesh.isBlank() || !ItemClassificationIndex.get().isMesh(resource.getItem())) {
+                return 0;
+            }
+            updateSnapshots(transaction);
+            pendingMesh = resource;
+            return 1;
+        }
+        
+        @Override
+        protected ItemVariant createSnapshot() {
+            return pendingMesh;
+        }
+        
+        @Override
+        protected void readSnapshot(ItemVariant snapshot) {
+            pendingMesh = snapshot;
+        }
+        
+        @Override
+        protected void onFinalCommit() {
+            if (pendingMesh.isBlank()) {
+                return;
+            }
+            
+            ItemStack mesh = pendingMesh.toStack();
+            pendingMesh = ItemVariant.blank();
+            BlockState state = world.getBlockState(pos);
+            if (state.getBlock() instanceof SieveBlock && !state.get(SieveBlock.HAS_MESH)) {
+                world.setBlockState(pos, state.with(SieveBlock.HAS_MESH, true));
+                if (world.getBlockEntity(pos) instanceof SieveBlockEntity sieveBE) {
+                    sieveBE.setMeshStack(mesh);
+                    return;
+                }
+            }
+            
+            // Another mesh got in first, don't lose this one
+            Block.dropStack(world, pos.up(), mesh);
+        }
     }
-}
\ No newline at end of file
+}
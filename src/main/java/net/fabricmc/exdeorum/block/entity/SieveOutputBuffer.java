@@ -0,0 +1,262 @@
+package net.fabricmc.exdeorum.block.entity;
+
+import net.fabricmc.fabric.api.transfer.v1.transaction.Transaction;
+import net.minecraft.block.entity.BlockEntity;
+import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.inventory.Inventories;
+import net.minecraft.inventory.Inventory;
+import net.minecraft.item.ItemStack;
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.util.collection.DefaultedList;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * Output slots of a sieve. Results are merged into existing stacks of the same item before
+ * taking a new slot, and two bitmaps track which slots are free and which still have room,
+ * so adding a result only looks at slots it can go into.
+ * <p>
+ * The slots are only allocated while they hold anything. Automation can only take items out,
+ * results are added by the owner through {@link #insert(ItemStack)}. The owner's refill callback
+ * is run before the slots are read outside of a transaction and after results were taken out,
+ * including Transfer API extractions once they are committed.
+ */
+public class SieveOutputBuffer implements Inventory {
+    public static final int SLOTS = 9;
+    private static final int ALL_SLOTS = (1 << SLOTS) - 1;
+
+    private final BlockEntity owner;
+    private final Runnable refill;
+
+    @Nullable
+    private DefaultedList<ItemStack> stacks;
+
+    // Bit i is set if slot i is empty
+    private int freeSlots = ALL_SLOTS;
+    // Bit i is set if slot i holds a stack that is not full
+    private int openSlots = 0;
+
+    /**
+     * @param refill Called while a slot is free, before the slots are read and after results were taken out,
+     *               to add results that have not been rolled yet or restart an owner that stopped on full outputs
+     */
+    public SieveOutputBuffer(BlockEntity owner, Runnable refill) {
+        this.owner = owner;
+        this.refill = refill;
+    }
+
+    /**
+     * Add a result, merging it into existing stacks first
+     * @return What did not fit, or an empty stack if everything was added
+     */
+    public ItemStack insert(ItemStack stack) {
+        if (stack.isEmpty()) {
+            return ItemStack.EMPTY;
+        }
+
+        boolean changed = false;
+        if (stacks != null) {
+            for (int mask = openSlots; mask != 0; mask &= mask - 1) {
+                int slot = Integer.numberOfTrailingZeros(mask);
+                ItemStack current = stacks.get(slot);
+                if (!ItemStack.canCombine(current, stack)) {
+                    continue;
+                }
+                int moved = Math.min(stack.getCount(), current.getMaxCount() - current.getCount());
+                current.increment(moved);
+                stack.decrement(moved);
+                updateSlot(slot);
+                changed = true;
+                if (stack.isEmpty()) {
+                    owner.markDirty();
+                    return ItemStack.EMPTY;
+                }
+            }
+        }
+
+        while (!stack.isEmpty() && freeSlots != 0) {
+            if (stacks == null) {
+                stacks = DefaultedList.ofSize(SLOTS, ItemStack.EMPTY);
+            }
+            int slot = Integer.numberOfTrailingZeros(freeSlots);
+            stacks.set(slot, stack.split(Math.min(stack.getCount(), stack.getMaxCount())));
+            updateSlot(slot);
+            changed = true;
+        }
+
+        if (changed) {
+            owner.markDirty();
+        }
+        return stack.isEmpty() ? ItemStack.EMPTY : stack;
+    }
+
+    /**
+     * Check if at least one slot is empty, so the next result has room
+     */
+    public boolean hasFreeSlot() {
+        return freeSlots != 0;
+    }
+
+    /**
+     * Add copies of all stacks in the buffer to a list
+     */
+    public void addDrops(List<ItemStack> drops) {
+        refill();
+        if (stacks == null) {
+            return;
+        }
+        for (ItemStack stack : stacks) {
+            if (!stack.isEmpty()) {
+                drops.add(stack.copy());
+            }
+        }
+    }
+
+    public void readNbt(NbtCompound nbt) {
+        stacks = null;
+        freeSlots = ALL_SLOTS;
+        openSlots = 0;
+        if (nbt.contains("Items")) {
+            stacks = DefaultedList.ofSize(SLOTS, ItemStack.EMPTY);
+            Inventories.readNbt(nbt, stacks);
+            for (int slot = 0; slot < SLOTS; slot++) {
+                updateSlot(slot);
+            }
+            releaseIfEmpty();
+        }
+    }
+
+    public void writeNbt(NbtCompound nbt) {
+        if (stacks != null) {
+            Inventories.writeNbt(nbt, stacks);
+        }
+    }
+
+    private void updateSlot(int slot) {
+        ItemStack stack = stacks.get(slot);
+        int bit = 1 << slot;
+        if (stack.isEmpty()) {
+            freeSlots |= bit;
+            openSlots &= ~bit;
+        } else {
+            freeSlots &= ~bit;
+            if (stack.getCount() < stack.getMaxCount()) {
+                openSlots |= bit;
+            } else {
+                openSlots &= ~bit;
+            }
+        }
+    }
+
+    private void refill() {
+        // Slots read in a transaction may already be snapshotted, rolling into them there
+        // would lose the results if it is aborted. Extractions refill once committed instead.
+        if (freeSlots != 0 && !Transaction.isOpen()) {
+            refill.run();
+        }
+    }
+
+    /**
+     * Free the slots once the last output was taken
+     */
+    private void releaseIfEmpty() {
+        if (freeSlots == ALL_SLOTS) {
+            stacks = null;
+        }
+    }
+
+    @Override
+    public int size() {
+        return SLOTS;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        refill();
+        return freeSlots == ALL_SLOTS;
+    }
+
+    @Override
+    public ItemStack getStack(int slot) {
+        refill();
+        return stacks == null ? ItemStack.EMPTY : stacks.get(slot);
+    }
+
+    @Override
+    public ItemStack removeStack(int slot, int amount) {
+        refill();
+        if (stacks == null) {
+            return ItemStack.EMPTY;
+        }
+        ItemStack result = Inventories.splitStack(stacks, slot, amount);
+        if (!result.isEmpty()) {
+            updateSlot(slot);
+            releaseIfEmpty();
+            markDirty();
+        }
+        return result;
+    }
+
+    @Override
+    public ItemStack removeStack(int slot) {
+        refill();
+        if (stacks == null) {
+            return ItemStack.EMPTY;
+        }
+        ItemStack result = Inventories.removeStack(stacks, slot);
+        if (!result.isEmpty()) {
+            updateSlot(slot);
+            releaseIfEmpty();
+            markDirty();
+        }
+        return result;
+    }
+
+    @Override
+    public void setStack(int slot, ItemStack stack) {
+        if (stacks == null) {
+            if (stack.isEmpty()) {
+                return;
+            }
+            stacks = DefaultedList.ofSize(SLOTS, ItemStack.EMPTY);
+        }
+        if (stack.getCount() > getMaxCountPerStack()) {
+            stack.setCount(getMaxCountPerStack());
+        }
+        stacks.set(slot, stack);
+        updateSlot(slot);
+        releaseIfEmpty();
+        markDirty();
+    }
+
+    /**
+     * Only the owner adds results, automation can only extract
+     */
+    @Override
+    public boolean isValid(int slot, ItemStack stack) {
+        return false;
+    }
+
+    /**
+     * Called after results were taken out, also by the Transfer API when an extraction is committed
+     */
+    @Override
+    public void markDirty() {
+        owner.markDirty();
+        refill();
+    }
+
+    @Override
+    public boolean canPlayerUse(PlayerEntity player) {
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        stacks = null;
+        freeSlots = ALL_SLOTS;
+        openSlots = 0;
+        markDirty();
+    }
+}
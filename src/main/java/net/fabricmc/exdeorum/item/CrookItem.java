@@ -1,6 +1,7 @@
 package net.fabricmc.exdeorum.item;
 
 import net.fabricmc.exdeorum.registry.ModItems;
+import net.fabricmc.exdeorum.util.MachineRandom;
 import net.minecraft.block.Block;
 import net.minecraft.block.BlockState;
 import net.minecraft.block.Blocks;
@@ -14,15 +15,13 @@ import net.minecraft.registry.tag.BlockTags;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
 
-import java.util.Random;
-
 /**
  * The crook is used to harvest leaves more efficiently and
  * has a chance to drop silkworms.
  */
 public class CrookItem extends SwordItem {
     
-    private static final Random RANDOM = new Random();
+    private static final float SILKWORM_CHANCE = 0.05f;
     
     public CrookItem(ToolMaterial material, int attackDamage, float attackSpeed, Settings settings) {
         super(material, attackDamage, attackSpeed, settings);
@@ -41,7 +40,9 @@ public class CrookItem extends SwordItem {
             stack.damage(1, miner, e -> e.sendEquipmentBreakStatus(EquipmentSlot.MAINHAND));
             
             // Have a chance to drop silkworms from leaves
-            if (RANDOM.nextFloat() < 0.05f) { // 5% chance
+            // Derived from the world seed, position and time, so no shared random is needed
+            float roll = MachineRandom.hashFloat(MachineRandom.getWorldSeed(world), pos.asLong(), world.getTime());
+            if (roll < SILKWORM_CHANCE) {
                 // Spawn silkworm item
                 world.spawnEntity(new ItemEntity(
                     world,
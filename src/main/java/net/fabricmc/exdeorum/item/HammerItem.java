@@ -1,8 +1,7 @@
 package net.fabricmc.exdeorum.item;
 
-import net.minecraft.block.Block;
+import net.fabricmc.exdeorum.recipe.ExDeorumRecipes;
 import net.minecraft.block.BlockState;
-import net.minecraft.block.Blocks;
 import net.minecraft.entity.EquipmentSlot;
 import net.minecraft.entity.LivingEntity;
 import net.minecraft.item.ItemStack;
@@ -52,33 +51,23 @@ public class HammerItem extends MiningToolItem {
      */
     @Override
     public boolean isSuitableFor(BlockState state) {
-        // The hammer can crush specific blocks
-        Block block = state.getBlock();
-        return block == Blocks.COBBLESTONE ||
-               block == Blocks.GRAVEL ||
-               block == Blocks.SAND ||
-               block == Blocks.NETHERRACK ||
-               super.isSuitableFor(state);
+        // The hammer can crush any block with a crushing recipe
+        return isCrushable(state) || super.isSuitableFor(state);
+    }
+    
+    /**
+     * Check if a hammer can crush a given block state
+     */
+    public static boolean isCrushable(BlockState state) {
+        return getCrushedState(state) != null;
     }
     
     /**
      * Get the block state that results from crushing a given block state
      * @return The resulting block state, or null if the block can't be crushed
      */
-    private BlockState getCrushedState(BlockState state) {
-        Block block = state.getBlock();
-        
-        if (block == Blocks.COBBLESTONE) {
-            return Blocks.GRAVEL.getDefaultState();
-        } else if (block == Blocks.GRAVEL) {
-            return Blocks.SAND.getDefaultState();
-        } else if (block == Blocks.SAND) {
-            return Blocks.DIRT.getDefaultState();
-        } else if (block == Blocks.NETHERRACK) {
-            return Blocks.SOUL_SAND.getDefaultState();
-        }
-        
-        return null;
+    private static BlockState getCrushedState(BlockState state) {
+        return ExDeorumRecipes.getCrushedState(state);
     }
     
     /**
@@ -0,0 +1,34 @@
+package net.fabricmc.exdeorum.item;
+
+import net.fabricmc.exdeorum.recipe.MeshType;
+import net.minecraft.enchantment.Enchantment;
+import net.minecraft.enchantment.Enchantments;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+
+/**
+ * A mesh that can be placed in a sieve.
+ * Each mesh belongs to a tier and can sift everything the lower tiers can.
+ * Single meshes accept Fortune (better chances) and Efficiency (fewer clicks) from books.
+ */
+public class MeshItem extends Item {
+    
+    private final MeshType meshType;
+    
+    public MeshItem(MeshType meshType, Settings settings) {
+        super(settings);
+        this.meshType = meshType;
+    }
+    
+    public MeshType getMeshType() {
+        return meshType;
+    }
+    
+    /**
+     * Check if an enchantment can be applied to a mesh stack
+     */
+    public static boolean canEnchant(Enchantment enchantment, ItemStack stack) {
+        return stack.getItem() instanceof MeshItem && stack.getCount() == 1
+                && (enchantment == Enchantments.FORTUNE || enchantment == Enchantments.EFFICIENCY);
+    }
+}
@@ -0,0 +1,16 @@
+package net.fabricmc.exdeorum.machine;
+
+import net.minecraft.server.world.ServerWorld;
+
+/**
+ * A block entity whose progress is stored as game times, so it can work out
+ * what happened while its chunk was unloaded.
+ */
+public interface CatchUpMachine {
+    /**
+     * Apply the progress made since the machine was last loaded and schedule the next step.
+     * Also the place to repair state saved by older versions.
+     * Called at the start of the first world tick after the chunk loaded.
+     */
+    void catchUp(ServerWorld world);
+}
@@ -0,0 +1,12 @@
+package net.fabricmc.exdeorum.machine;
+
+/**
+ * A block entity whose {@code markDirty} calls are collected by {@link MachineDirtyTracker}
+ * and applied once per tick
+ */
+public interface DeferredDirtyMachine {
+    /**
+     * Apply the deferred {@code markDirty}, marking the chunk for saving and updating comparators
+     */
+    void flushDirty();
+}
@@ -0,0 +1,50 @@
+package net.fabricmc.exdeorum.machine;
+
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerBlockEntityEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerWorldEvents;
+import net.minecraft.block.entity.BlockEntity;
+import net.minecraft.server.world.ServerWorld;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs {@link CatchUpMachine#catchUp} for machines in freshly loaded chunks.
+ * Machines are queued when their block entity loads and handled at the start of the next
+ * world tick, because changing blocks while a chunk is still being loaded is not safe.
+ */
+public final class MachineCatchUp {
+    private static final Map<ServerWorld, List<CatchUpMachine>> PENDING = new IdentityHashMap<>();
+
+    private MachineCatchUp() {
+    }
+
+    public static void register() {
+        ServerBlockEntityEvents.BLOCK_ENTITY_LOAD.register((blockEntity, world) -> {
+            if (blockEntity instanceof CatchUpMachine machine) {
+                PENDING.computeIfAbsent(world, w -> new ArrayList<>()).add(machine);
+            }
+        });
+        ServerTickEvents.START_WORLD_TICK.register(MachineCatchUp::drain);
+        ServerWorldEvents.UNLOAD.register((server, world) -> PENDING.remove(world));
+    }
+
+    private static void drain(ServerWorld world) {
+        List<CatchUpMachine> machines = PENDING.remove(world);
+        if (machines == null) {
+            return;
+        }
+        
+        for (int i = 0; i < machines.size(); i++) {
+            CatchUpMachine machine = machines.get(i);
+            BlockEntity blockEntity = (BlockEntity) machine;
+            // Skip machines that were unloaded or replaced again before the tick
+            if (!blockEntity.isRemoved() && world.getBlockEntity(blockEntity.getPos()) == blockEntity) {
+                machine.catchUp(world);
+            }
+        }
+    }
+}
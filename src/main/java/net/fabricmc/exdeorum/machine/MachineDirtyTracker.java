@@ -0,0 +1,91 @@
+package net.fabricmc.exdeorum.machine;
+
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerWorldEvents;
+import net.minecraft.block.entity.BlockEntity;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.world.World;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Collects {@code markDirty} calls of machines so each machine marks its chunk dirty and
+ * updates comparators at most once per tick, however many times it changed.
+ * <p>
+ * Pending machines are flushed at the end of the world tick, and again at the start of the next
+ * one for changes made between ticks, such as player interactions. That way every change is
+ * applied before the chunk can be unloaded. When the server stops, all worlds are flushed before
+ * they are saved, and a world that is unloaded is flushed before its machines are forgotten.
+ */
+public final class MachineDirtyTracker {
+    private static final Map<ServerWorld, List<DeferredDirtyMachine>> PENDING = new IdentityHashMap<>();
+    
+    // Statistics since the server started
+    private static long flushCount;
+    private static long coalescedCount;
+
+    private MachineDirtyTracker() {
+    }
+
+    public static void register() {
+        ServerTickEvents.START_WORLD_TICK.register(MachineDirtyTracker::flush);
+        ServerTickEvents.END_WORLD_TICK.register(MachineDirtyTracker::flush);
+        ServerLifecycleEvents.SERVER_STOPPING.register(server -> flushAll());
+        ServerWorldEvents.UNLOAD.register((server, world) -> flush(world));
+    }
+
+    /**
+     * Queue a machine to be flushed, called on its first {@code markDirty} since the last flush
+     * @return False if the world is not a server world and the machine should mark itself dirty directly
+     */
+    public static <T extends BlockEntity & DeferredDirtyMachine> boolean queue(World world, T machine) {
+        if (!(world instanceof ServerWorld serverWorld)) {
+            return false;
+        }
+        PENDING.computeIfAbsent(serverWorld, w -> new ArrayList<>()).add(machine);
+        return true;
+    }
+
+    /**
+     * Count a {@code markDirty} call that was merged into an already pending flush
+     */
+    public static void countCoalesced() {
+        coalescedCount++;
+    }
+
+    /**
+     * Get the number of flushes that were applied
+     */
+    public static long getFlushCount() {
+        return flushCount;
+    }
+
+    /**
+     * Get the number of {@code markDirty} calls that were merged into another flush instead of being applied
+     */
+    public static long getCoalescedCount() {
+        return coalescedCount;
+    }
+
+    private static void flushAll() {
+        for (ServerWorld world : new ArrayList<>(PENDING.keySet())) {
+            flush(world);
+        }
+    }
+
+    private static void flush(ServerWorld world) {
+        List<DeferredDirtyMachine> machines = PENDING.remove(world);
+        if (machines == null) {
+            return;
+        }
+        
+        for (int i = 0; i < machines.size(); i++) {
+            machines.get(i).flushDirty();
+        }
+        flushCount += machines.size();
+    }
+}
@@ -0,0 +1,126 @@
+package net.fabricmc.exdeorum.machine;
+
+import net.minecraft.block.entity.BlockEntity;
+import net.minecraft.item.ItemStack;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Estimates how much heap a machine block entity uses.
+ * <p>
+ * The estimate assumes a 64-bit JVM with compressed references: 12 byte object headers,
+ * 4 byte references and objects padded to 8 bytes. Only objects owned by the machine are counted,
+ * which are its item stacks, collections and the helper objects of this mod it holds, such as
+ * its random source and output buffer. Shared objects such as fluids, items and block states are not.
+ */
+public final class MachineFootprint {
+    private static final int OBJECT_HEADER = 12;
+    private static final int ARRAY_HEADER = 16;
+    private static final int REFERENCE = 4;
+    private static final String MOD_PACKAGE = "net.fabricmc.exdeorum.";
+
+    private static final Map<Class<?>, Integer> SHALLOW_SIZES = new IdentityHashMap<>();
+
+    private MachineFootprint() {
+    }
+
+    /**
+     * Estimate the size of a machine and the objects it owns
+     * @return The estimated size in bytes
+     */
+    public static long estimate(BlockEntity machine) {
+        return shallowSize(machine.getClass()) + ownedFieldsSize(machine, BlockEntity.class);
+    }
+
+    /**
+     * Get the size of the fields of an object, without anything they point to
+     */
+    public static synchronized int shallowSize(Class<?> type) {
+        Integer cached = SHALLOW_SIZES.get(type);
+        if (cached != null) {
+            return cached;
+        }
+
+        int size = OBJECT_HEADER;
+        for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+            for (Field field : c.getDeclaredFields()) {
+                if (!Modifier.isStatic(field.getModifiers())) {
+                    size += fieldSize(field.getType());
+                }
+            }
+        }
+        size = align(size);
+        SHALLOW_SIZES.put(type, size);
+        return size;
+    }
+
+    private static long ownedFieldsSize(Object owner, Class<?> stopAt) {
+        long size = 0;
+        for (Class<?> c = owner.getClass(); c != null && c != stopAt; c = c.getSuperclass()) {
+            for (Field field : c.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers()) || field.getType().isPrimitive()) {
+                    continue;
+                }
+                try {
+                    field.setAccessible(true);
+                    Object value = field.get(owner);
+                    if (value != owner && !(value instanceof BlockEntity)) {
+                        size += ownedObjectSize(value);
+                    }
+                } catch (ReflectiveOperationException | RuntimeException e) {
+                    // Fields we can't read are left out of the estimate
+                }
+            }
+        }
+        return size;
+    }
+
+    private static long ownedObjectSize(Object value) {
+        if (value instanceof ItemStack stack) {
+            return stack.isEmpty() ? 0 : shallowSize(ItemStack.class);
+        }
+        if (value != null && value.getClass().getName().startsWith(MOD_PACKAGE)) {
+            // Helper objects of this mod belong to the machine that holds them
+            return shallowSize(value.getClass()) + ownedFieldsSize(value, Object.class);
+        }
+        if (value instanceof Collection<?> collection) {
+            long size = shallowSize(collection.getClass()) + align(ARRAY_HEADER + collection.size() * REFERENCE);
+            for (Object element : collection) {
+                size += ownedObjectSize(element);
+            }
+            return size;
+        }
+        if (value instanceof Object[] array) {
+            long size = align(ARRAY_HEADER + array.length * REFERENCE);
+            for (Object element : array) {
+                size += ownedObjectSize(element);
+            }
+            return size;
+        }
+        return 0;
+    }
+
+    private static int fieldSize(Class<?> type) {
+        if (type == long.class || type == double.class) {
+            return 8;
+        }
+        if (type == int.class || type == float.class) {
+            return 4;
+        }
+        if (type == short.class || type == char.class) {
+            return 2;
+        }
+        if (type == byte.class || type == boolean.class) {
+            return 1;
+        }
+        return REFERENCE;
+    }
+
+    private static int align(int size) {
+        return (size + 7) & ~7;
+    }
+}
@@ -0,0 +1,37 @@
+package net.fabricmc.exdeorum.machine;
+
+import net.fabricmc.exdeorum.registry.ModGameRules;
+import net.minecraft.server.MinecraftServer;
+
+/**
+ * Shares the exdeorumSieveThroughputCap budget between all mechanical sieves of a server.
+ * The budget is reset every server tick, sieves that get nothing back off before they try again.
+ * Only used on the server thread.
+ */
+public final class SieveThroughput {
+    private static int budgetTick = -1;
+    private static int used;
+
+    private SieveThroughput() {
+    }
+
+    /**
+     * Take part of this tick's budget
+     * @param requested The number of inputs the sieve wants to sift
+     * @return The number of inputs it may sift, at most the requested amount
+     */
+    public static int take(MinecraftServer server, int requested) {
+        int cap = server.getGameRules().getInt(ModGameRules.SIEVE_THROUGHPUT_CAP);
+        if (cap <= 0) {
+            return requested;
+        }
+
+        if (budgetTick != server.getTicks()) {
+            budgetTick = server.getTicks();
+            used = 0;
+        }
+        int granted = Math.max(0, Math.min(requested, cap - used));
+        used += granted;
+        return granted;
+    }
+}
@@ -0,0 +1,23 @@
+package net.fabricmc.exdeorum.mixin;
+
+import net.fabricmc.exdeorum.item.MeshItem;
+import net.minecraft.enchantment.Enchantment;
+import net.minecraft.item.ItemStack;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+
+/**
+ * Lets Fortune and Efficiency be applied to sieve meshes in an anvil
+ */
+@Mixin(Enchantment.class)
+public abstract class EnchantmentMixin {
+    
+    @Inject(method = "isAcceptableItem", at = @At("HEAD"), cancellable = true)
+    private void exdeorum$acceptMeshes(ItemStack stack, CallbackInfoReturnable<Boolean> cir) {
+        if (MeshItem.canEnchant((Enchantment) (Object) this, stack)) {
+            cir.setReturnValue(true);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package net.fabricmc.exdeorum.network;
+
+import net.fabricmc.exdeorum.ExDeorum;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerWorldEvents;
+import net.fabricmc.fabric.api.networking.v1.PacketByteBufs;
+import net.fabricmc.fabric.api.networking.v1.PlayerLookup;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayNetworking;
+import net.minecraft.block.entity.BlockEntity;
+import net.minecraft.network.PacketByteBuf;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.Identifier;
+import net.minecraft.world.World;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Server side of the machine client sync.
+ * Machines queue themselves the first time a field changes in a tick. At the end of the world tick
+ * the changed fields of every queued machine are written once and appended to a single packet per
+ * tracking player, so a machine is synced at most once per tick however often it changes.
+ * <p>
+ * Each entry is the packed position, the entry length, the changed field flags and the field values.
+ * The length lets clients skip entries for block entities they do not have.
+ */
+public class MachineSync {
+    /** Server to client: changed fields of the machines the player tracks */
+    public static final Identifier DELTA = new Identifier(ExDeorum.MOD_ID, "machine_delta");
+
+    private static final Map<ServerWorld, List<SyncedMachine>> PENDING = new IdentityHashMap<>();
+
+    public static void register() {
+        ServerTickEvents.END_WORLD_TICK.register(MachineSync::flush);
+        ServerWorldEvents.UNLOAD.register((server, world) -> PENDING.remove(world));
+    }
+
+    /**
+     * Queue a machine for the end of the tick, called when its first field changes
+     */
+    public static <T extends BlockEntity & SyncedMachine> void queue(World world, T machine) {
+        if (world instanceof ServerWorld serverWorld) {
+            PENDING.computeIfAbsent(serverWorld, w -> new ArrayList<>()).add(machine);
+        }
+    }
+
+    private static void flush(ServerWorld world) {
+        List<SyncedMachine> machines = PENDING.remove(world);
+        if (machines == null) {
+            return;
+        }
+
+        Map<ServerPlayerEntity, PacketByteBuf> packets = new IdentityHashMap<>();
+        PacketByteBuf fieldBuf = PacketByteBufs.create();
+        for (int i = 0; i < machines.size(); i++) {
+            SyncedMachine machine = machines.get(i);
+            BlockEntity blockEntity = (BlockEntity) machine;
+            
+            // Always take the fields so the machine can queue itself again
+            int fields = machine.takeChangedFields();
+            if (fields == 0 || blockEntity.isRemoved()) {
+                continue;
+            }
+
+            fieldBuf.clear();
+            fieldBuf.writeVarInt(fields);
+            machine.writeSyncFields(fieldBuf, fields);
+
+            for (ServerPlayerEntity player : PlayerLookup.tracking(blockEntity)) {
+                if (!ServerPlayNetworking.canSend(player, DELTA)) {
+                    continue;
+                }
+                PacketByteBuf packet = packets.computeIfAbsent(player, p -> PacketByteBufs.create());
+                packet.writeLong(blockEntity.getPos().asLong());
+                packet.writeVarInt(fieldBuf.readableBytes());
+                packet.writeBytes(fieldBuf, fieldBuf.readerIndex(), fieldBuf.readableBytes());
+            }
+        }
+        fieldBuf.release();
+
+        for (Map.Entry<ServerPlayerEntity, PacketByteBuf> entry : packets.entrySet()) {
+            ServerPlayNetworking.send(entry.getKey(), DELTA, entry.getValue());
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package net.fabricmc.exdeorum.network;
+
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import net.fabricmc.exdeorum.ExDeorum;
+import net.fabricmc.fabric.api.client.networking.v1.ClientPlayNetworking;
+import net.fabricmc.fabric.api.networking.v1.PacketByteBufs;
+import net.minecraft.block.entity.BlockEntity;
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.network.PacketByteBuf;
+import net.minecraft.util.math.BlockPos;
+
+/**
+ * Client side of the machine sync, applies the changed fields sent by {@link MachineSync}
+ */
+@Environment(EnvType.CLIENT)
+public class MachineSyncClient {
+
+    public static void register() {
+        ClientPlayNetworking.registerGlobalReceiver(MachineSync.DELTA, (client, handler, buf, responseSender) -> {
+            // The packet buffer is released after this returns, the entries are applied on the client thread
+            PacketByteBuf copy = PacketByteBufs.copy(buf);
+            client.execute(() -> {
+                try {
+                    apply(client, copy);
+                } finally {
+                    copy.release();
+                }
+            });
+        });
+    }
+
+    private static void apply(MinecraftClient client, PacketByteBuf buf) {
+        if (client.world == null) {
+            return;
+        }
+
+        BlockPos.Mutable pos = new BlockPos.Mutable();
+        while (buf.isReadable()) {
+            pos.set(buf.readLong());
+            int length = buf.readVarInt();
+            int end = buf.readerIndex() + length;
+
+            BlockEntity blockEntity = client.world.getBlockEntity(pos);
+            if (blockEntity instanceof SyncedMachine machine) {
+                try {
+                    machine.readSyncFields(buf, buf.readVarInt());
+                } catch (RuntimeException e) {
+                    ExDeorum.LOGGER.error("Failed to read Ex Deorum machine sync at {}", pos, e);
+                }
+            }
+            // Skip entries for block entities this client does not have, and anything a machine left unread
+            buf.readerIndex(end);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package net.fabricmc.exdeorum.network;
+
+import net.fabricmc.exdeorum.ExDeorum;
+import net.fabricmc.exdeorum.recipe.ExDeorumRecipes;
+import net.fabricmc.exdeorum.recipe.RecipeSnapshot;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.fabricmc.fabric.api.networking.v1.PacketByteBufs;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayConnectionEvents;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayNetworking;
+import net.minecraft.network.PacketByteBuf;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.util.Identifier;
+
+import java.util.Arrays;
+
+/**
+ * Server side of the recipe sync.
+ * The server first only sends the hash of the current recipe data. The client answers
+ * with a request for the full data only when it has no cached copy with that hash,
+ * so reconnecting with unchanged recipes costs a single small packet.
+ */
+public class RecipeSync {
+    /** Server to client: hash of the current recipe data */
+    public static final Identifier HASH = new Identifier(ExDeorum.MOD_ID, "recipe_hash");
+    /** Client to server: hash of the recipe data the client is missing */
+    public static final Identifier REQUEST = new Identifier(ExDeorum.MOD_ID, "recipe_request");
+    /** Server to client: hash followed by the full recipe data */
+    public static final Identifier DATA = new Identifier(ExDeorum.MOD_ID, "recipe_data");
+
+    public static void register() {
+        ServerPlayConnectionEvents.JOIN.register((handler, sender, server) -> sendHash(server, handler.player));
+
+        ServerLifecycleEvents.END_DATA_PACK_RELOAD.register((server, resourceManager, success) -> {
+            if (success) {
+                for (ServerPlayerEntity player : server.getPlayerManager().getPlayerList()) {
+                    sendHash(server, player);
+                }
+            }
+        });
+
+        ServerPlayNetworking.registerGlobalReceiver(REQUEST, (server, player, handler, buf, responseSender) -> {
+            byte[] requested = buf.readByteArray();
+            server.execute(() -> sendData(player, requested));
+        });
+    }
+
+    private static void sendHash(MinecraftServer server, ServerPlayerEntity player) {
+        // The host of an integrated server shares the recipes directly
+        if (server.isHost(player.getGameProfile()) || !ServerPlayNetworking.canSend(player, HASH)) {
+            return;
+        }
+
+        PacketByteBuf buf = PacketByteBufs.create();
+        buf.writeByteArray(ExDeorumRecipes.getSnapshot().getSyncHash());
+        ServerPlayNetworking.send(player, HASH, buf);
+    }
+
+    private static void sendData(ServerPlayerEntity player, byte[] requested) {
+        RecipeSnapshot snapshot = ExDeorumRecipes.getSnapshot();
+
+        // The recipes changed since the hash was sent, a new hash is already on its way
+        if (!Arrays.equals(requested, snapshot.getSyncHash())) {
+            return;
+        }
+
+        PacketByteBuf buf = PacketByteBufs.create();
+        buf.writeByteArray(snapshot.getSyncHash());
+        buf.writeByteArray(snapshot.getSyncData());
+        ServerPlayNetworking.send(player, DATA, buf);
+    }
+}
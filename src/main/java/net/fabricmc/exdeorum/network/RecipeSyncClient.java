@@ -0,0 +1,113 @@
+package net.fabricmc.exdeorum.network;
+
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import net.fabricmc.exdeorum.ExDeorum;
+import net.fabricmc.exdeorum.recipe.ExDeorumRecipes;
+import net.fabricmc.exdeorum.recipe.RecipeSnapshot;
+import net.fabricmc.exdeorum.recipe.RecipeSnapshotCodec;
+import net.fabricmc.fabric.api.client.networking.v1.ClientPlayNetworking;
+import net.fabricmc.fabric.api.networking.v1.PacketByteBufs;
+import net.fabricmc.loader.api.FabricLoader;
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.network.PacketByteBuf;
+import net.minecraft.util.Util;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Client side of the recipe sync.
+ * Received recipe data is cached on disk under its hash, so it only has to be
+ * downloaded again when the server's recipes change.
+ */
+@Environment(EnvType.CLIENT)
+public class RecipeSyncClient {
+    private static final Path CACHE_DIR = FabricLoader.getInstance().getGameDir().resolve(ExDeorum.MOD_ID).resolve("recipe-cache");
+
+    public static void register() {
+        ClientPlayNetworking.registerGlobalReceiver(RecipeSync.HASH, (client, handler, buf, responseSender) -> {
+            byte[] hash = buf.readByteArray();
+
+            // Still on the network thread, so reading the cache does not block rendering
+            byte[] cached = readCache(hash);
+            if (cached != null) {
+                RecipeSnapshot snapshot = decode(cached);
+                if (snapshot != null) {
+                    client.execute(() -> ExDeorumRecipes.applySyncedSnapshot(snapshot));
+                    return;
+                }
+            }
+
+            PacketByteBuf request = PacketByteBufs.create();
+            request.writeByteArray(hash);
+            responseSender.sendPacket(RecipeSync.REQUEST, request);
+        });
+
+        ClientPlayNetworking.registerGlobalReceiver(RecipeSync.DATA, (client, handler, buf, responseSender) -> {
+            byte[] hash = buf.readByteArray();
+            byte[] data = buf.readByteArray();
+
+            if (!Arrays.equals(hash, hash(data))) {
+                ExDeorum.LOGGER.error("Received Ex Deorum recipe data that does not match its hash");
+                return;
+            }
+
+            RecipeSnapshot snapshot = decode(data);
+            if (snapshot != null) {
+                Util.getIoWorkerExecutor().execute(() -> writeCache(hash, data));
+                client.execute(() -> ExDeorumRecipes.applySyncedSnapshot(snapshot));
+            }
+        });
+    }
+
+    private static RecipeSnapshot decode(byte[] data) {
+        try {
+            return RecipeSnapshotCodec.decode(data);
+        } catch (RuntimeException e) {
+            ExDeorum.LOGGER.error("Failed to decode Ex Deorum recipe data", e);
+            return null;
+        }
+    }
+
+    private static byte[] hash(byte[] data) {
+        return Hashing.sha256().hashBytes(data).asBytes();
+    }
+
+    private static Path getCacheFile(byte[] hash) {
+        return CACHE_DIR.resolve(HashCode.fromBytes(hash) + ".bin");
+    }
+
+    /**
+     * Read cached recipe data
+     * @return The data, or null if there is no intact cache entry for the hash
+     */
+    private static byte[] readCache(byte[] hash) {
+        Path file = getCacheFile(hash);
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+
+        try {
+            byte[] data = Files.readAllBytes(file);
+            return Arrays.equals(hash, hash(data)) ? data : null;
+        } catch (IOException e) {
+            ExDeorum.LOGGER.warn("Failed to read cached Ex Deorum recipe data {}", file, e);
+            return null;
+        }
+    }
+
+    private static void writeCache(byte[] hash, byte[] data) {
+        Path file = getCacheFile(hash);
+        try {
+            Files.createDirectories(CACHE_DIR);
+            Files.write(file, data);
+        } catch (IOException e) {
+            ExDeorum.LOGGER.warn("Failed to cache Ex Deorum recipe data {}", file, e);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package net.fabricmc.exdeorum.network;
+
+import net.minecraft.network.PacketByteBuf;
+
+/**
+ * A block entity whose client state is kept up to date through {@link MachineSync}.
+ * Each machine numbers its synced fields with bit flags, marks the ones that changed,
+ * and only those are written to the next sync packet.
+ */
+public interface SyncedMachine {
+    /**
+     * Get the fields that changed since the last sync and clear them
+     */
+    int takeChangedFields();
+
+    /**
+     * Write the given fields for the client
+     */
+    void writeSyncFields(PacketByteBuf buf, int fields);
+
+    /**
+     * Read the given fields on the client, in the order they were written
+     */
+    void readSyncFields(PacketByteBuf buf, int fields);
+}
@@ -0,0 +1,49 @@
+package net.fabricmc.exdeorum.recipe;
+
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+
+/**
+ * Frozen hammer crushing lookup, stored as a dense array indexed by raw block state id.
+ * Every state of an input block maps to the default state of its result.
+ */
+public final class CrushTable {
+    public static final CrushTable EMPTY = new CrushTable(new BlockState[0]);
+
+    private final BlockState[] results;
+
+    private CrushTable(BlockState[] results) {
+        this.results = results;
+    }
+
+    /**
+     * Get the block state that results from crushing a given block state
+     * @return The resulting block state, or null if the block can't be crushed
+     */
+    @Nullable
+    public BlockState get(BlockState state) {
+        int id = Block.getRawIdFromState(state);
+        return id >= 0 && id < results.length ? results[id] : null;
+    }
+
+    /**
+     * Compile a table from input block to result block
+     */
+    public static CrushTable compile(Map<Block, Block> recipes) {
+        if (recipes.isEmpty()) {
+            return EMPTY;
+        }
+
+        BlockState[] results = new BlockState[Block.STATE_IDS.size()];
+        for (Map.Entry<Block, Block> entry : recipes.entrySet()) {
+            BlockState result = entry.getValue().getDefaultState();
+            for (BlockState state : entry.getKey().getStateManager().getStates()) {
+                results[Block.getRawIdFromState(state)] = result;
+            }
+        }
+        return new CrushTable(results);
+    }
+}
@@ -1,21 +1,18 @@
 package net.fabricmc.exdeorum.recipe;
 
 import net.fabricmc.exdeorum.ExDeorum;
+import net.fabricmc.exdeorum.util.MachineRandom;
+import net.fabricmc.fabric.api.event.lifecycle.v1.CommonLifecycleEvents;
+import net.fabricmc.fabric.api.resource.ResourceManagerHelper;
 import net.minecraft.block.Block;
-import net.minecraft.block.Blocks;
+import net.minecraft.block.BlockState;
+import net.minecraft.fluid.Fluid;
 import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
-import net.minecraft.item.Items;
-import net.minecraft.registry.Registries;
-import net.minecraft.registry.tag.BlockTags;
-import net.minecraft.util.Identifier;
-import net.minecraft.util.Pair;
+import net.minecraft.resource.ResourceType;
+import org.jetbrains.annotations.Nullable;
 
-import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
-import java.util.Random;
 
 /**
  * Handler for all custom Ex Deorum recipes
@@ -23,184 +20,125 @@ import java.util.Random;
  */
 public class ExDeorumRecipes {
     
-    // Maps for storing different recipe types
-    private static final Map<Block, List<SieveRecipe>> SIEVE_RECIPES = new HashMap<>();
-    private static final Map<Item, Integer> COMPOST_VALUES = new HashMap<>();
-    private static final Map<Item, Integer> CRUCIBLE_MELT_VALUES = new HashMap<>();
+    // The recipes currently in use, replaced as a whole on every data pack reload
+    private static volatile RecipeSnapshot snapshot = RecipeSnapshot.EMPTY;
     
     /**
      * Initialize all recipe registries
+     * The recipes themselves are loaded from data packs, see {@link RecipeReloadListener}
      */
     public static void init() {
-        registerSieveRecipes();
-        registerCompostValues();
-        registerCrucibleMeltValues();
+        ResourceManagerHelper.get(ResourceType.SERVER_DATA).registerReloadListener(new RecipeReloadListener());
         
-        ExDeorum.LOGGER.info("Registered Ex Deorum recipes");
+        // Tags are bound after every data pack reload, so this also picks up new recipes
+        CommonLifecycleEvents.TAGS_LOADED.register((registries, client) -> {
+            ItemClassificationIndex.rebuild();
+            HeatRegistry.rebuild();
+        });
+        
+        ExDeorum.LOGGER.info("Registered Ex Deorum recipe loader");
     }
     
     /**
-     * Register recipes for the sieve
+     * Get the recipes currently in use
      */
-    private static void registerSieveRecipes() {
-        // Dirt recipes
-        registerSieveRecipe(Blocks.DIRT, Items.WHEAT_SEEDS, 0.15f, "string");
-        registerSieveRecipe(Blocks.DIRT, Items.PUMPKIN_SEEDS, 0.10f, "string");
-        registerSieveRecipe(Blocks.DIRT, Items.MELON_SEEDS, 0.10f, "string");
-        registerSieveRecipe(Blocks.DIRT, Items.BEETROOT_SEEDS, 0.10f, "string");
-        
-        // Gravel recipes
-        registerSieveRecipe(Blocks.GRAVEL, Items.FLINT, 0.25f, "string");
-        registerSieveRecipe(Blocks.GRAVEL, Items.COAL, 0.10f, "flint");
-        registerSieveRecipe(Blocks.GRAVEL, Items.RAW_IRON, 0.05f, "flint");
-        registerSieveRecipe(Blocks.GRAVEL, Items.RAW_COPPER, 0.05f, "flint");
-        
-        // Sand recipes
-        registerSieveRecipe(Blocks.SAND, Items.GUNPOWDER, 0.08f, "flint");
-        registerSieveRecipe(Blocks.SAND, Items.GOLD_NUGGET, 0.05f, "iron");
-        
-        // Soul sand recipes
-        registerSieveRecipe(Blocks.SOUL_SAND, Items.QUARTZ, 0.33f, "flint");
-        registerSieveRecipe(Blocks.SOUL_SAND, Items.BLAZE_POWDER, 0.05f, "diamond");
-        
-        // More recipes would be added in a full implementation
+    public static RecipeSnapshot getSnapshot() {
+        return snapshot;
     }
     
     /**
-     * Register values for compostable items
+     * Publish a freshly loaded set of recipes
      */
-    private static void registerCompostValues() {
-        // Leaves and plant matter
-        registerCompostValue(Items.OAK_LEAVES, 100);
-        registerCompostValue(Items.SPRUCE_LEAVES, 100);
-        registerCompostValue(Items.BIRCH_LEAVES, 100);
-        registerCompostValue(Items.JUNGLE_LEAVES, 100);
-        registerCompostValue(Items.ACACIA_LEAVES, 100);
-        registerCompostValue(Items.DARK_OAK_LEAVES, 100);
-        
-        // Saplings
-        registerCompostValue(Items.OAK_SAPLING, 125);
-        registerCompostValue(Items.SPRUCE_SAPLING, 125);
-        registerCompostValue(Items.BIRCH_SAPLING, 125);
-        registerCompostValue(Items.JUNGLE_SAPLING, 125);
-        registerCompostValue(Items.ACACIA_SAPLING, 125);
-        registerCompostValue(Items.DARK_OAK_SAPLING, 125);
-        
-        // Food and crops
-        registerCompostValue(Items.APPLE, 150);
-        registerCompostValue(Items.CARROT, 150);
-        registerCompostValue(Items.POTATO, 150);
-        registerCompostValue(Items.WHEAT, 75);
-        registerCompostValue(Items.SUGAR_CANE, 75);
-        
-        // More values would be added in a full implementation
+    static void setSnapshot(RecipeSnapshot newSnapshot) {
+        snapshot = newSnapshot;
     }
     
     /**
-     * Register values for crucible melting
+     * Publish recipes received from a server and rebuild the lookups that depend on them.
+     * Must be called on the client thread, after tags have been received.
      */
-    private static void registerCrucibleMeltValues() {
-        // Wooden crucible melt values (for water production)
-        registerCrucibleMeltValue(Items.OAK_LEAVES, 250, true);
-        registerCrucibleMeltValue(Items.SPRUCE_LEAVES, 250, true);
-        registerCrucibleMeltValue(Items.BIRCH_LEAVES, 250, true);
-        registerCrucibleMeltValue(Items.JUNGLE_LEAVES, 250, true);
-        registerCrucibleMeltValue(Items.ACACIA_LEAVES, 250, true);
-        registerCrucibleMeltValue(Items.DARK_OAK_LEAVES, 250, true);
-        
-        registerCrucibleMeltValue(Items.OAK_SAPLING, 500, true);
-        registerCrucibleMeltValue(Items.SPRUCE_SAPLING, 500, true);
-        registerCrucibleMeltValue(Items.BIRCH_SAPLING, 500, true);
-        registerCrucibleMeltValue(Items.JUNGLE_SAPLING, 500, true);
-        registerCrucibleMeltValue(Items.ACACIA_SAPLING, 500, true);
-        registerCrucibleMeltValue(Items.DARK_OAK_SAPLING, 500, true);
-        
-        // Porcelain crucible melt values (for lava production)
-        registerCrucibleMeltValue(Items.COBBLESTONE, 250, false);
-        registerCrucibleMeltValue(Items.STONE, 250, false);
-        registerCrucibleMeltValue(Items.NETHERRACK, 500, false);
-        
-        // More values would be added in a full implementation
+    public static void applySyncedSnapshot(RecipeSnapshot newSnapshot) {
+        snapshot = newSnapshot;
+        ItemClassificationIndex.rebuild();
+        HeatRegistry.rebuild();
     }
     
     /**
-     * Register a recipe for the sieve
+     * Get the compost value for an item
      */
-    private static void registerSieveRecipe(Block input, Item result, float chance, String meshType) {
-        SIEVE_RECIPES.computeIfAbsent(input, k -> new ArrayList<>())
-            .add(new SieveRecipe(input, result, chance, meshType));
+    public static int getCompostValue(Item item) {
+        return ItemClassificationIndex.get().getCompostValue(item);
     }
     
     /**
-     * Register a compostable item and its value
+     * Get the melt value for an item in a crucible
      */
-    private static void registerCompostValue(Item item, int value) {
-        COMPOST_VALUES.put(item, value);
+    public static int getMeltValue(Item item, boolean isWoodenCrucible) {
+        // Only return values for items that match the crucible type
+        return ItemClassificationIndex.get().getMeltValue(item, isWoodenCrucible);
     }
     
     /**
-     * Register a meltable item for crucibles
+     * Get all possible sieve drops for a block and mesh type
      */
-    private static void registerCrucibleMeltValue(Item item, int value, boolean isForWoodenCrucible) {
-        if (isForWoodenCrucible) {
-            CRUCIBLE_MELT_VALUES.put(item, value);
-        } else {
-            // For non-wooden crucibles
-            CRUCIBLE_MELT_VALUES.put(item, value);
-        }
+    public static SieveDrops getSieveDrops(Block block, MeshType meshType) {
+        return snapshot.getSieveDrops().get(block, meshType);
     }
     
     /**
-     * Get the compost value for an item
+     * Check if a block can be sifted with any mesh
      */
-    public static int getCompostValue(Item item) {
-        return COMPOST_VALUES.getOrDefault(item, 0);
+    public static boolean isSiftable(Block block) {
+        return snapshot.getSieveDrops().hasRecipes(block);
     }
     
     /**
-     * Get the melt value for an item in a crucible
+     * Roll for drops from a sieve operation
+     * @param out The buffer the resulting stacks are added to
+     * @return The number of stacks that were added
      */
-    public static int getMeltValue(Item item, boolean isWoodenCrucible) {
-        // Only return values for items that match the crucible type
-        Integer value = CRUCIBLE_MELT_VALUES.get(item);
-        if (value == null) return 0;
-        
-        return value;
+    public static int rollSieveDrops(Block block, MeshType meshType, MachineRandom random, List<ItemStack> out) {
+        return rollSieveDrops(block, meshType, 0, random, out);
     }
     
     /**
-     * Get all possible sieve drops for a block and mesh type
+     * Roll for drops from a sieve operation with a Fortune mesh
+     * @param fortune The Fortune level of the mesh
+     * @param out The buffer the resulting stacks are added to
+     * @return The number of stacks that were added
      */
-    public static List<Pair<Item, Float>> getSieveDrops(Block block, String meshType) {
-        List<Pair<Item, Float>> result = new ArrayList<>();
-        
-        List<SieveRecipe> recipes = SIEVE_RECIPES.get(block);
-        if (recipes != null) {
-            for (SieveRecipe recipe : recipes) {
-                // Check if the recipe is valid for this mesh
-                if (recipe.isValidForMesh(meshType)) {
-                    result.add(new Pair<>(recipe.getResult(), recipe.getChance()));
-                }
-            }
-        }
-        
-        return result;
+    public static int rollSieveDrops(Block block, MeshType meshType, int fortune, MachineRandom random, List<ItemStack> out) {
+        return snapshot.getSieveDrops().get(block, meshType).roll(random, fortune, out);
     }
     
     /**
-     * Roll for drops from a sieve operation
+     * Roll for drops from sifting several identical inputs at once
+     * @param count The number of inputs sifted
+     * @param out The buffer the merged stacks are added to
+     * @return The number of stacks that were added
      */
-    public static List<ItemStack> rollSieveDrops(Block block, String meshType, Random random) {
-        List<ItemStack> drops = new ArrayList<>();
-        
-        List<Pair<Item, Float>> possibleDrops = getSieveDrops(block, meshType);
-        for (Pair<Item, Float> drop : possibleDrops) {
-            if (random.nextFloat() < drop.getRight()) {
-                drops.add(new ItemStack(drop.getLeft()));
-            }
-        }
-        
-        return drops;
+    public static int rollSieveBatch(Block block, MeshType meshType, int count, MachineRandom random, List<ItemStack> out) {
+        return rollSieveBatch(block, meshType, 0, count, random, out);
+    }
+    
+    /**
+     * Roll for drops from sifting several identical inputs at once with a Fortune mesh
+     * @param count The number of inputs sifted
+     * @param fortune The Fortune level of the mesh
+     * @param out The buffer the merged stacks are added to
+     * @return The number of stacks that were added
+     */
+    public static int rollSieveBatch(Block block, MeshType meshType, int fortune, int count, MachineRandom random, List<ItemStack> out) {
+        return snapshot.getSieveDrops().get(block, meshType).rollBatch(random, count, fortune, out);
+    }
+    
+    /**
+     * Get the block state that results from crushing a block with a hammer
+     * @return The resulting block state, or null if the block can't be crushed
+     */
+    @Nullable
+    public static BlockState getCrushedState(BlockState state) {
+        return snapshot.getCrushTable().get(state);
     }
     
     /**
@@ -210,9 +148,9 @@ public class ExDeorumRecipes {
         private final Block input;
         private final Item result;
         private final float chance;
-        private final String meshType;
+        private final MeshType meshType;
         
-        public SieveRecipe(Block input, Item result, float chance, String meshType) {
+        public SieveRecipe(Block input, Item result, float chance, MeshType meshType) {
             this.input = input;
             this.result = result;
             this.chance = chance;
@@ -231,15 +169,34 @@ public class ExDeorumRecipes {
             return chance;
         }
         
-        public String getMeshType() {
+        public MeshType getMeshType() {
             return meshType;
         }
         
-        public boolean isValidForMesh(String meshType) {
-            // Check if this recipe can be used with the given mesh
-            // In a full implementation, this would have hierarchy logic
-            // where better meshes can use recipes from worse meshes
-            return this.meshType.equals(meshType);
+        public boolean isValidForMesh(MeshType meshType) {
+            // Better meshes can use the recipes of worse meshes
+            return meshType.includes(this.meshType);
+        }
+    }
+    
+    /**
+     * How much fluid an item melts into in a crucible
+     */
+    public static class MeltValue {
+        private final int value;
+        private final Fluid fluid;
+        
+        public MeltValue(int value, Fluid fluid) {
+            this.value = value;
+            this.fluid = fluid;
+        }
+        
+        public int getValue() {
+            return value;
+        }
+        
+        public Fluid getFluid() {
+            return fluid;
         }
     }
 }
\ No newline at end of file
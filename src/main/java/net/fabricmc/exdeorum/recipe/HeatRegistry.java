@@ -0,0 +1,125 @@
+package net.fabricmc.exdeorum.recipe;
+
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import net.minecraft.registry.Registries;
+import net.minecraft.registry.entry.RegistryEntry;
+import net.minecraft.registry.tag.TagKey;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Heat values of the blocks that can sit below a crucible.
+ * Values come from data pack entries naming a block or a block tag and are
+ * resolved into arrays indexed by raw block state id whenever tags are reloaded.
+ */
+public final class HeatRegistry {
+    /** Highest heat a source may give, heat is stored in a byte per block state */
+    public static final int MAX_HEAT = Byte.MAX_VALUE;
+
+    private static volatile HeatRegistry current = new HeatRegistry(new byte[0], new BitSet());
+    // Bumped on every rebuild so crucibles know when their cached heat is stale
+    private static final AtomicInteger GENERATION = new AtomicInteger();
+
+    private final byte[] heat;
+    private final BitSet woodSafe;
+
+    private HeatRegistry(byte[] heat, BitSet woodSafe) {
+        this.heat = heat;
+        this.woodSafe = woodSafe;
+    }
+
+    public static HeatRegistry get() {
+        return current;
+    }
+
+    public static int getGeneration() {
+        return GENERATION.get();
+    }
+
+    /**
+     * Rebuild the state arrays from the heat entries of the current recipes
+     */
+    public static void rebuild() {
+        byte[] heat = new byte[Block.STATE_IDS.size()];
+        BitSet woodSafe = new BitSet(heat.length);
+
+        // Later entries override earlier ones
+        for (HeatEntry entry : ExDeorumRecipes.getSnapshot().getHeatEntries()) {
+            if (entry.getBlock() != null) {
+                apply(entry, entry.getBlock(), heat, woodSafe);
+            } else {
+                for (RegistryEntry<Block> block : Registries.BLOCK.iterateEntries(entry.getTag())) {
+                    apply(entry, block.value(), heat, woodSafe);
+                }
+            }
+        }
+
+        current = new HeatRegistry(heat, woodSafe);
+        GENERATION.incrementAndGet();
+    }
+
+    private static void apply(HeatEntry entry, Block block, byte[] heat, BitSet woodSafe) {
+        for (BlockState state : block.getStateManager().getStates()) {
+            int id = Block.getRawIdFromState(state);
+            heat[id] = (byte) entry.getHeat();
+            woodSafe.set(id, entry.isWoodSafe());
+        }
+    }
+
+    /**
+     * Get the heat a block state gives to a crucible above it
+     * @param isWoodenCrucible Wooden crucibles only take heat from sources that won't burn them
+     * @return The heat value, 0 if the state is not a heat source
+     */
+    public int getHeat(BlockState state, boolean isWoodenCrucible) {
+        int id = Block.getRawIdFromState(state);
+        if (id < 0 || id >= heat.length) {
+            return 0;
+        }
+        if (isWoodenCrucible && !woodSafe.get(id)) {
+            return 0;
+        }
+        return heat[id];
+    }
+
+    /**
+     * A heat value given to a single block or a block tag
+     */
+    public static class HeatEntry {
+        @Nullable
+        private final Block block;
+        @Nullable
+        private final TagKey<Block> tag;
+        private final int heat;
+        private final boolean woodSafe;
+
+        public HeatEntry(@Nullable Block block, @Nullable TagKey<Block> tag, int heat, boolean woodSafe) {
+            this.block = block;
+            this.tag = tag;
+            this.heat = heat;
+            this.woodSafe = woodSafe;
+        }
+
+        @Nullable
+        public Block getBlock() {
+            return block;
+        }
+
+        @Nullable
+        public TagKey<Block> getTag() {
+            return tag;
+        }
+
+        public int getHeat() {
+            return heat;
+        }
+
+        public boolean isWoodSafe() {
+            return woodSafe;
+        }
+    }
+}
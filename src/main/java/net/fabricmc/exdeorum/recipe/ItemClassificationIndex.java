@@ -0,0 +1,153 @@
+package net.fabricmc.exdeorum.recipe;
+
+import net.fabricmc.exdeorum.item.HammerItem;
+import net.fabricmc.exdeorum.item.MeshItem;
+import net.minecraft.block.Block;
+import net.minecraft.block.Blocks;
+import net.minecraft.fluid.Fluid;
+import net.minecraft.fluid.Fluids;
+import net.minecraft.item.Item;
+import net.minecraft.registry.Registries;
+import net.minecraft.registry.entry.RegistryEntry;
+import net.minecraft.registry.tag.TagKey;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Map;
+
+/**
+ * Per-item classification used by the barrel, sieve and crucible on every interaction.
+ * Everything is stored in arrays indexed by raw item id, so a lookup is a single array read.
+ * The index is rebuilt whenever tags are (re)loaded, which also happens after every
+ * recipe reload, and is the single source of truth for the blocks.
+ */
+public final class ItemClassificationIndex {
+    private static final int NO_MESH = -1;
+    private static final int NO_FLUID = -1;
+
+    private static volatile ItemClassificationIndex current = new ItemClassificationIndex(0);
+
+    private final BitSet siftable;
+    private final BitSet hammerCrushable;
+    private final byte[] meshTier;
+    private final int[] compostValue;
+    private final int[] meltValue;
+    private final int[] meltFluid;
+
+    private ItemClassificationIndex(int size) {
+        siftable = new BitSet(size);
+        hammerCrushable = new BitSet(size);
+        meshTier = new byte[size];
+        compostValue = new int[size];
+        meltValue = new int[size];
+        meltFluid = new int[size];
+        Arrays.fill(meshTier, (byte) NO_MESH);
+        Arrays.fill(meltFluid, NO_FLUID);
+    }
+
+    /**
+     * Get the index currently in use
+     */
+    public static ItemClassificationIndex get() {
+        return current;
+    }
+
+    /**
+     * Rebuild the index from the item registry, the bound tags and the current recipes
+     */
+    public static void rebuild() {
+        RecipeSnapshot recipes = ExDeorumRecipes.getSnapshot();
+        ItemClassificationIndex index = new ItemClassificationIndex(Registries.ITEM.size());
+
+        for (Item item : Registries.ITEM) {
+            int id = Registries.ITEM.getRawId(item);
+
+            Block block = Block.getBlockFromItem(item);
+            if (block != Blocks.AIR) {
+                if (recipes.getSieveDrops().hasRecipes(block)) {
+                    index.siftable.set(id);
+                }
+                if (HammerItem.isCrushable(block.getDefaultState())) {
+                    index.hammerCrushable.set(id);
+                }
+            }
+
+            if (item instanceof MeshItem mesh) {
+                index.meshTier[id] = (byte) mesh.getMeshType().getTier();
+            }
+        }
+
+        // Tag entries first so that entries for single items can override them
+        for (Map.Entry<TagKey<Item>, Integer> entry : recipes.getCompostTags().entrySet()) {
+            for (RegistryEntry<Item> item : Registries.ITEM.iterateEntries(entry.getKey())) {
+                index.compostValue[Registries.ITEM.getRawId(item.value())] = entry.getValue();
+            }
+        }
+        for (Map.Entry<Item, Integer> entry : recipes.getCompostValues().entrySet()) {
+            index.compostValue[Registries.ITEM.getRawId(entry.getKey())] = entry.getValue();
+        }
+
+        for (Map.Entry<Item, ExDeorumRecipes.MeltValue> entry : recipes.getMeltValues().entrySet()) {
+            int id = Registries.ITEM.getRawId(entry.getKey());
+            index.meltValue[id] = entry.getValue().getValue();
+            index.meltFluid[id] = Registries.FLUID.getRawId(entry.getValue().getFluid());
+        }
+
+        current = index;
+    }
+
+    public boolean isSiftable(Item item) {
+        return siftable.get(Registries.ITEM.getRawId(item));
+    }
+
+    public boolean isHammerCrushable(Item item) {
+        return hammerCrushable.get(Registries.ITEM.getRawId(item));
+    }
+
+    /**
+     * Get the tier of a mesh item
+     * @return The mesh tier, or -1 if the item is not a mesh
+     */
+    public int getMeshTier(Item item) {
+        int id = Registries.ITEM.getRawId(item);
+        return id < meshTier.length ? meshTier[id] : NO_MESH;
+    }
+
+    public boolean isMesh(Item item) {
+        return getMeshTier(item) != NO_MESH;
+    }
+
+    public int getCompostValue(Item item) {
+        int id = Registries.ITEM.getRawId(item);
+        return id < compostValue.length ? compostValue[id] : 0;
+    }
+
+    public int getMeltValue(Item item) {
+        int id = Registries.ITEM.getRawId(item);
+        return id < meltValue.length ? meltValue[id] : 0;
+    }
+
+    /**
+     * Get the fluid an item melts into
+     * @return The fluid, or {@link Fluids#EMPTY} if the item can't be melted
+     */
+    public Fluid getMeltFluid(Item item) {
+        int id = Registries.ITEM.getRawId(item);
+        if (id >= meltFluid.length || meltFluid[id] == NO_FLUID) {
+            return Fluids.EMPTY;
+        }
+        return Registries.FLUID.get(meltFluid[id]);
+    }
+
+    /**
+     * Get the melt value for an item in a specific crucible.
+     * Wooden crucibles only accept items that melt into water, porcelain crucibles take the rest.
+     */
+    public int getMeltValue(Item item, boolean isWoodenCrucible) {
+        Fluid fluid = getMeltFluid(item);
+        if (fluid == Fluids.EMPTY || (fluid == Fluids.WATER) != isWoodenCrucible) {
+            return 0;
+        }
+        return getMeltValue(item);
+    }
+}
@@ -0,0 +1,71 @@
+package net.fabricmc.exdeorum.recipe;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The different kinds of sieve meshes, ordered from worst to best.
+ * The ordinal is the mesh tier and is used to index the compiled sieve drop tables.
+ * A mesh can use the recipes of every mesh with an equal or lower tier.
+ */
+public enum MeshType {
+    STRING("string"),
+    FLINT("flint"),
+    IRON("iron"),
+    GOLDEN("golden"),
+    DIAMOND("diamond"),
+    NETHERITE("netherite");
+
+    private static final MeshType[] VALUES = values();
+
+    private final String name;
+
+    MeshType(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Get the tier of this mesh, 0 being the worst
+     */
+    public int getTier() {
+        return ordinal();
+    }
+
+    /**
+     * Check if this mesh inherits the recipes of another mesh
+     */
+    public boolean includes(MeshType other) {
+        return other.ordinal() <= ordinal();
+    }
+
+    /**
+     * Number of mesh types, used to size the per-mesh arrays
+     */
+    public static int count() {
+        return VALUES.length;
+    }
+
+    /**
+     * Look up a mesh type by ordinal
+     */
+    public static MeshType byOrdinal(int ordinal) {
+        return VALUES[ordinal];
+    }
+
+    /**
+     * Look up a mesh type by name
+     * @return The mesh type, or null if no mesh has that name
+     */
+    @Nullable
+    public static MeshType byName(String name) {
+        for (MeshType type : VALUES) {
+            if (type.name.equals(name)) {
+                return type;
+            }
+        }
+        return null;
+    }
+}
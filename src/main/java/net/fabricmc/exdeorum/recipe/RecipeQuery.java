@@ -0,0 +1,91 @@
+package net.fabricmc.exdeorum.recipe;
+
+import net.minecraft.block.Block;
+import net.minecraft.fluid.Fluid;
+import net.minecraft.item.Item;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Public query API over the current Ex Deorum recipes, meant for recipe viewers and tooling.
+ * Besides the forward lookups in {@link ExDeorumRecipes}, this answers reverse questions
+ * such as "which inputs and meshes can give raw iron". The reverse indexes are built on
+ * first use and belong to the recipe snapshot they were built from, so a reload drops them.
+ */
+public final class RecipeQuery {
+    private final Map<Item, List<ExDeorumRecipes.SieveRecipe>> sieveSources;
+    private final Map<Fluid, List<Item>> meltSources;
+    private final Map<Block, List<Block>> crushSources;
+
+    private RecipeQuery(Map<Item, List<ExDeorumRecipes.SieveRecipe>> sieveSources,
+                        Map<Fluid, List<Item>> meltSources,
+                        Map<Block, List<Block>> crushSources) {
+        this.sieveSources = sieveSources;
+        this.meltSources = meltSources;
+        this.crushSources = crushSources;
+    }
+
+    /**
+     * Get the sieve recipes that can produce an item.
+     * Each recipe names the input block, the lowest mesh that can find the item and the chance;
+     * every better mesh finds it with the same chance.
+     */
+    public static List<ExDeorumRecipes.SieveRecipe> getSieveSources(Item output) {
+        return get().sieveSources.getOrDefault(output, List.of());
+    }
+
+    /**
+     * Get the items that melt into a fluid in a crucible
+     */
+    public static List<Item> getMeltSources(Fluid fluid) {
+        return get().meltSources.getOrDefault(fluid, List.of());
+    }
+
+    /**
+     * Get the blocks a hammer crushes into a block
+     */
+    public static List<Block> getCrushSources(Block result) {
+        return get().crushSources.getOrDefault(result, List.of());
+    }
+
+    /**
+     * Check if an item can be obtained from a sieve at all
+     */
+    public static boolean isSieveOutput(Item item) {
+        return get().sieveSources.containsKey(item);
+    }
+
+    private static RecipeQuery get() {
+        return ExDeorumRecipes.getSnapshot().getQuery();
+    }
+
+    /**
+     * Build the reverse indexes of a snapshot
+     */
+    static RecipeQuery build(RecipeSnapshot snapshot) {
+        Map<Item, List<ExDeorumRecipes.SieveRecipe>> sieveSources = new IdentityHashMap<>();
+        for (ExDeorumRecipes.SieveRecipe recipe : snapshot.getSieveRecipes()) {
+            sieveSources.computeIfAbsent(recipe.getResult(), k -> new ArrayList<>()).add(recipe);
+        }
+
+        Map<Fluid, List<Item>> meltSources = new IdentityHashMap<>();
+        for (Map.Entry<Item, ExDeorumRecipes.MeltValue> entry : snapshot.getMeltValues().entrySet()) {
+            meltSources.computeIfAbsent(entry.getValue().getFluid(), k -> new ArrayList<>()).add(entry.getKey());
+        }
+
+        Map<Block, List<Block>> crushSources = new IdentityHashMap<>();
+        for (Map.Entry<Block, Block> entry : snapshot.getCrushRecipes().entrySet()) {
+            crushSources.computeIfAbsent(entry.getValue(), k -> new ArrayList<>()).add(entry.getKey());
+        }
+
+        return new RecipeQuery(freeze(sieveSources), freeze(meltSources), freeze(crushSources));
+    }
+
+    private static <K, V> Map<K, List<V>> freeze(Map<K, List<V>> map) {
+        map.replaceAll((key, list) -> List.copyOf(list));
+        return map;
+    }
+}
@@ -0,0 +1,232 @@
+package net.fabricmc.exdeorum.recipe;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonSyntaxException;
+import net.fabricmc.exdeorum.ExDeorum;
+import net.fabricmc.fabric.api.resource.SimpleResourceReloadListener;
+import net.minecraft.block.Block;
+import net.minecraft.fluid.Fluid;
+import net.minecraft.item.Item;
+import net.minecraft.registry.Registries;
+import net.minecraft.registry.Registry;
+import net.minecraft.registry.RegistryKeys;
+import net.minecraft.registry.tag.TagKey;
+import net.minecraft.resource.Resource;
+import net.minecraft.resource.ResourceManager;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.JsonHelper;
+import net.minecraft.util.profiler.Profiler;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+/**
+ * Loads the Ex Deorum recipes from data packs.
+ * Every file is parsed as its own task on the reload executor, the results are
+ * compiled into a {@link RecipeSnapshot} and the snapshot is swapped in once the
+ * reload reaches the apply stage.
+ *
+ * Files live in {@code data/<namespace>/exdeorum/sieve}, {@code exdeorum/compost},
+ * {@code exdeorum/crucible}, {@code exdeorum/hammer} and {@code exdeorum/heat}. Files are
+ * merged in identifier order, so a later entry for the same input replaces an earlier one.
+ * Compost and heat entries may name a {@code tag} instead of an item or block.
+ */
+public class RecipeReloadListener implements SimpleResourceReloadListener<RecipeSnapshot> {
+    private static final Identifier ID = new Identifier(ExDeorum.MOD_ID, "recipes");
+
+    private static final String SIEVE_PATH = "exdeorum/sieve";
+    private static final String COMPOST_PATH = "exdeorum/compost";
+    private static final String CRUCIBLE_PATH = "exdeorum/crucible";
+    private static final String HAMMER_PATH = "exdeorum/hammer";
+    private static final String HEAT_PATH = "exdeorum/heat";
+
+    @Override
+    public Identifier getFabricId() {
+        return ID;
+    }
+
+    @Override
+    public CompletableFuture<RecipeSnapshot> load(ResourceManager manager, Profiler profiler, Executor executor) {
+        CompletableFuture<List<List<ExDeorumRecipes.SieveRecipe>>> sieve =
+                parseAll(manager, SIEVE_PATH, RecipeReloadListener::parseSieveFile, executor);
+        CompletableFuture<List<CompostEntries>> compost =
+                parseAll(manager, COMPOST_PATH, RecipeReloadListener::parseCompostFile, executor);
+        CompletableFuture<List<Map<Item, ExDeorumRecipes.MeltValue>>> melt =
+                parseAll(manager, CRUCIBLE_PATH, RecipeReloadListener::parseCrucibleFile, executor);
+        CompletableFuture<List<Map<Block, Block>>> hammer =
+                parseAll(manager, HAMMER_PATH, RecipeReloadListener::parseHammerFile, executor);
+        CompletableFuture<List<List<HeatRegistry.HeatEntry>>> heat =
+                parseAll(manager, HEAT_PATH, RecipeReloadListener::parseHeatFile, executor);
+
+        return CompletableFuture.allOf(sieve, compost, melt, hammer, heat).thenApplyAsync(v -> {
+            List<ExDeorumRecipes.SieveRecipe> sieveRecipes = new ArrayList<>();
+            sieve.join().forEach(sieveRecipes::addAll);
+
+            Map<Item, Integer> compostValues = new LinkedHashMap<>();
+            Map<TagKey<Item>, Integer> compostTags = new LinkedHashMap<>();
+            for (CompostEntries entries : compost.join()) {
+                compostValues.putAll(entries.items);
+                compostTags.putAll(entries.tags);
+            }
+
+            Map<Item, ExDeorumRecipes.MeltValue> meltValues = new LinkedHashMap<>();
+            melt.join().forEach(meltValues::putAll);
+
+            Map<Block, Block> crushRecipes = new LinkedHashMap<>();
+            hammer.join().forEach(crushRecipes::putAll);
+
+            List<HeatRegistry.HeatEntry> heatEntries = new ArrayList<>();
+            heat.join().forEach(heatEntries::addAll);
+
+            return RecipeSnapshot.compile(sieveRecipes, compostValues, compostTags, meltValues, crushRecipes, heatEntries);
+        }, executor);
+    }
+
+    @Override
+    public CompletableFuture<Void> apply(RecipeSnapshot snapshot, ResourceManager manager, Profiler profiler, Executor executor) {
+        return CompletableFuture.runAsync(() -> {
+            ExDeorumRecipes.setSnapshot(snapshot);
+            ExDeorum.LOGGER.info("Loaded {} sieve recipes, {} compost values, {} crucible melt values and {} hammer recipes",
+                    snapshot.getSieveRecipes().size(),
+                    snapshot.getCompostValues().size() + snapshot.getCompostTags().size(),
+                    snapshot.getMeltValues().size(),
+                    snapshot.getCrushRecipes().size());
+        }, executor);
+    }
+
+    /**
+     * Parse every json file under a path, one task per file
+     * @return The parsed files in identifier order, skipping files that failed to parse
+     */
+    private static <T> CompletableFuture<List<T>> parseAll(ResourceManager manager, String path,
+                                                           Function<JsonObject, T> parser, Executor executor) {
+        Map<Identifier, Resource> resources = new TreeMap<>(manager.findResources(path, id -> id.getPath().endsWith(".json")));
+
+        List<CompletableFuture<T>> futures = new ArrayList<>(resources.size());
+        for (Map.Entry<Identifier, Resource> entry : resources.entrySet()) {
+            futures.add(CompletableFuture.supplyAsync(() -> parseFile(entry.getKey(), entry.getValue(), parser), executor));
+        }
+
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).thenApply(v -> {
+            List<T> results = new ArrayList<>(futures.size());
+            for (CompletableFuture<T> future : futures) {
+                T result = future.join();
+                if (result != null) {
+                    results.add(result);
+                }
+            }
+            return results;
+        });
+    }
+
+    private static <T> T parseFile(Identifier id, Resource resource, Function<JsonObject, T> parser) {
+        try (Reader reader = resource.getReader()) {
+            return parser.apply(JsonHelper.deserialize(reader));
+        } catch (IOException | RuntimeException e) {
+            ExDeorum.LOGGER.error("Failed to load Ex Deorum recipe file {}", id, e);
+            return null;
+        }
+    }
+
+    private static List<ExDeorumRecipes.SieveRecipe> parseSieveFile(JsonObject json) {
+        Block input = getEntry(Registries.BLOCK, json, "input");
+        List<ExDeorumRecipes.SieveRecipe> recipes = new ArrayList<>();
+
+        for (JsonElement element : JsonHelper.getArray(json, "drops")) {
+            JsonObject drop = JsonHelper.asObject(element, "drop");
+            Item result = getEntry(Registries.ITEM, drop, "item");
+            float chance = JsonHelper.getFloat(drop, "chance");
+
+            String meshName = JsonHelper.getString(drop, "mesh");
+            MeshType mesh = MeshType.byName(meshName);
+            if (mesh == null) {
+                throw new JsonSyntaxException("Unknown mesh type " + meshName);
+            }
+
+            recipes.add(new ExDeorumRecipes.SieveRecipe(input, result, chance, mesh));
+        }
+
+        return recipes;
+    }
+
+    private static CompostEntries parseCompostFile(JsonObject json) {
+        CompostEntries entries = new CompostEntries();
+        for (JsonElement element : JsonHelper.getArray(json, "entries")) {
+            JsonObject entry = JsonHelper.asObject(element, "entry");
+            int value = JsonHelper.getInt(entry, "value");
+            if (entry.has("tag")) {
+                Identifier tag = new Identifier(JsonHelper.getString(entry, "tag"));
+                entries.tags.put(TagKey.of(RegistryKeys.ITEM, tag), value);
+            } else {
+                entries.items.put(getEntry(Registries.ITEM, entry, "item"), value);
+            }
+        }
+        return entries;
+    }
+
+    private static Map<Item, ExDeorumRecipes.MeltValue> parseCrucibleFile(JsonObject json) {
+        Map<Item, ExDeorumRecipes.MeltValue> values = new LinkedHashMap<>();
+        for (JsonElement element : JsonHelper.getArray(json, "entries")) {
+            JsonObject entry = JsonHelper.asObject(element, "entry");
+            Fluid fluid = getEntry(Registries.FLUID, entry, "fluid");
+            values.put(getEntry(Registries.ITEM, entry, "item"),
+                    new ExDeorumRecipes.MeltValue(JsonHelper.getInt(entry, "value"), fluid));
+        }
+        return values;
+    }
+
+    private static Map<Block, Block> parseHammerFile(JsonObject json) {
+        Map<Block, Block> recipes = new LinkedHashMap<>();
+        for (JsonElement element : JsonHelper.getArray(json, "entries")) {
+            JsonObject entry = JsonHelper.asObject(element, "entry");
+            recipes.put(getEntry(Registries.BLOCK, entry, "input"), getEntry(Registries.BLOCK, entry, "result"));
+        }
+        return recipes;
+    }
+
+    private static List<HeatRegistry.HeatEntry> parseHeatFile(JsonObject json) {
+        List<HeatRegistry.HeatEntry> entries = new ArrayList<>();
+        for (JsonElement element : JsonHelper.getArray(json, "entries")) {
+            JsonObject entry = JsonHelper.asObject(element, "entry");
+            int heat = JsonHelper.getInt(entry, "heat");
+            if (heat < 0 || heat > HeatRegistry.MAX_HEAT) {
+                ExDeorum.LOGGER.warn("Skipping heat entry {}, heat must be between 0 and {}", entry, HeatRegistry.MAX_HEAT);
+                continue;
+            }
+            boolean woodSafe = JsonHelper.getBoolean(entry, "wood_safe", false);
+            if (entry.has("tag")) {
+                Identifier tag = new Identifier(JsonHelper.getString(entry, "tag"));
+                entries.add(new HeatRegistry.HeatEntry(null, TagKey.of(RegistryKeys.BLOCK, tag), heat, woodSafe));
+            } else {
+                entries.add(new HeatRegistry.HeatEntry(getEntry(Registries.BLOCK, entry, "block"), null, heat, woodSafe));
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Read a registry id from a json field
+     * @throws JsonSyntaxException If the id is not registered
+     */
+    private static <T> T getEntry(Registry<T> registry, JsonObject json, String key) {
+        Identifier id = new Identifier(JsonHelper.getString(json, key));
+        return registry.getOrEmpty(id).orElseThrow(() -> new JsonSyntaxException("Unknown " + key + " " + id));
+    }
+
+    /**
+     * The parsed content of one compost file
+     */
+    private static class CompostEntries {
+        private final Map<Item, Integer> items = new LinkedHashMap<>();
+        private final Map<TagKey<Item>, Integer> tags = new LinkedHashMap<>();
+    }
+}
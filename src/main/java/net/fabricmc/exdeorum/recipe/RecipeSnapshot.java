@@ -0,0 +1,150 @@
+package net.fabricmc.exdeorum.recipe;
+
+import com.google.common.hash.Hashing;
+import net.minecraft.block.Block;
+import net.minecraft.item.Item;
+import net.minecraft.registry.tag.TagKey;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An immutable view of every Ex Deorum recipe loaded from data packs.
+ * A new snapshot is built off-thread on every reload and then published as a whole,
+ * so readers always see either the old or the new recipes, never a mix.
+ */
+public final class RecipeSnapshot {
+    public static final RecipeSnapshot EMPTY = compile(List.of(), Map.of(), Map.of(), Map.of(), Map.of(), List.of());
+
+    private final List<ExDeorumRecipes.SieveRecipe> sieveRecipes;
+    private final SieveDropTable sieveDrops;
+    private final Map<Item, Integer> compostValues;
+    private final Map<TagKey<Item>, Integer> compostTags;
+    private final Map<Item, ExDeorumRecipes.MeltValue> meltValues;
+    private final Map<Block, Block> crushRecipes;
+    private final CrushTable crushTable;
+    private final List<HeatRegistry.HeatEntry> heatEntries;
+
+    // Reverse lookups, built on first use
+    private volatile RecipeQuery query;
+
+    // Binary form sent to clients, encoded on first use
+    private volatile byte[] syncData;
+    private volatile byte[] syncHash;
+
+    private RecipeSnapshot(List<ExDeorumRecipes.SieveRecipe> sieveRecipes, SieveDropTable sieveDrops,
+                           Map<Item, Integer> compostValues, Map<TagKey<Item>, Integer> compostTags,
+                           Map<Item, ExDeorumRecipes.MeltValue> meltValues,
+                           Map<Block, Block> crushRecipes, CrushTable crushTable,
+                           List<HeatRegistry.HeatEntry> heatEntries) {
+        this.sieveRecipes = sieveRecipes;
+        this.sieveDrops = sieveDrops;
+        this.compostValues = compostValues;
+        this.compostTags = compostTags;
+        this.meltValues = meltValues;
+        this.crushRecipes = crushRecipes;
+        this.crushTable = crushTable;
+        this.heatEntries = heatEntries;
+    }
+
+    /**
+     * Build a snapshot, copying the given collections and compiling the sieve and crush tables.
+     * Maps keep the order they were given in, so {@link #getSyncData()} is the same on every run.
+     */
+    public static RecipeSnapshot compile(List<ExDeorumRecipes.SieveRecipe> sieveRecipes,
+                                         Map<Item, Integer> compostValues,
+                                         Map<TagKey<Item>, Integer> compostTags,
+                                         Map<Item, ExDeorumRecipes.MeltValue> meltValues,
+                                         Map<Block, Block> crushRecipes,
+                                         List<HeatRegistry.HeatEntry> heatEntries) {
+        List<ExDeorumRecipes.SieveRecipe> recipes = List.copyOf(sieveRecipes);
+        Map<Block, Block> crushes = copyOrdered(crushRecipes);
+        return new RecipeSnapshot(recipes, SieveDropTable.compile(recipes),
+                copyOrdered(compostValues), copyOrdered(compostTags), copyOrdered(meltValues),
+                crushes, CrushTable.compile(crushes), List.copyOf(heatEntries));
+    }
+
+    // Map.copyOf iterates in a different order on every JVM run, which would change the sync hash
+    private static <K, V> Map<K, V> copyOrdered(Map<K, V> map) {
+        return Collections.unmodifiableMap(new LinkedHashMap<>(map));
+    }
+
+    public List<ExDeorumRecipes.SieveRecipe> getSieveRecipes() {
+        return sieveRecipes;
+    }
+
+    public SieveDropTable getSieveDrops() {
+        return sieveDrops;
+    }
+
+    public Map<Item, Integer> getCompostValues() {
+        return compostValues;
+    }
+
+    /**
+     * Compost values given to whole item tags, resolved once tags are bound
+     */
+    public Map<TagKey<Item>, Integer> getCompostTags() {
+        return compostTags;
+    }
+
+    public Map<Item, ExDeorumRecipes.MeltValue> getMeltValues() {
+        return meltValues;
+    }
+
+    /**
+     * Hammer crushing recipes from input block to result block
+     */
+    public Map<Block, Block> getCrushRecipes() {
+        return crushRecipes;
+    }
+
+    public CrushTable getCrushTable() {
+        return crushTable;
+    }
+
+    /**
+     * Crucible heat sources, in load order
+     */
+    public List<HeatRegistry.HeatEntry> getHeatEntries() {
+        return heatEntries;
+    }
+
+    /**
+     * Get the reverse indexes of this snapshot, building them on first use
+     */
+    RecipeQuery getQuery() {
+        RecipeQuery result = query;
+        if (result == null) {
+            result = RecipeQuery.build(this);
+            query = result;
+        }
+        return result;
+    }
+
+    /**
+     * Get the compact binary form of this snapshot, see {@link RecipeSnapshotCodec}
+     */
+    public byte[] getSyncData() {
+        byte[] data = syncData;
+        if (data == null) {
+            data = RecipeSnapshotCodec.encode(this);
+            syncData = data;
+        }
+        return data;
+    }
+
+    /**
+     * Get the SHA-256 hash of {@link #getSyncData()}
+     */
+    public byte[] getSyncHash() {
+        byte[] hash = syncHash;
+        if (hash == null) {
+            hash = Hashing.sha256().hashBytes(getSyncData()).asBytes();
+            syncHash = hash;
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,145 @@
+package net.fabricmc.exdeorum.recipe;
+
+import io.netty.buffer.Unpooled;
+import net.minecraft.block.Block;
+import net.minecraft.item.Item;
+import net.minecraft.network.PacketByteBuf;
+import net.minecraft.registry.Registries;
+import net.minecraft.registry.RegistryKeys;
+import net.minecraft.registry.tag.TagKey;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact binary form of a {@link RecipeSnapshot}, used to send recipes to clients.
+ * Blocks, items and fluids are written as raw registry ids, which Fabric keeps in sync
+ * between server and client, and numbers are written as varints where possible.
+ */
+public final class RecipeSnapshotCodec {
+    private static final int FORMAT_VERSION = 1;
+
+    private RecipeSnapshotCodec() {
+    }
+
+    public static byte[] encode(RecipeSnapshot snapshot) {
+        PacketByteBuf buf = new PacketByteBuf(Unpooled.buffer());
+        buf.writeVarInt(FORMAT_VERSION);
+
+        buf.writeVarInt(snapshot.getSieveRecipes().size());
+        for (ExDeorumRecipes.SieveRecipe recipe : snapshot.getSieveRecipes()) {
+            buf.writeVarInt(Registries.BLOCK.getRawId(recipe.getInput()));
+            buf.writeVarInt(Registries.ITEM.getRawId(recipe.getResult()));
+            buf.writeFloat(recipe.getChance());
+            buf.writeByte(recipe.getMeshType().ordinal());
+        }
+
+        buf.writeVarInt(snapshot.getCompostValues().size());
+        for (Map.Entry<Item, Integer> entry : snapshot.getCompostValues().entrySet()) {
+            buf.writeVarInt(Registries.ITEM.getRawId(entry.getKey()));
+            buf.writeVarInt(entry.getValue());
+        }
+
+        buf.writeVarInt(snapshot.getCompostTags().size());
+        for (Map.Entry<TagKey<Item>, Integer> entry : snapshot.getCompostTags().entrySet()) {
+            buf.writeIdentifier(entry.getKey().id());
+            buf.writeVarInt(entry.getValue());
+        }
+
+        buf.writeVarInt(snapshot.getMeltValues().size());
+        for (Map.Entry<Item, ExDeorumRecipes.MeltValue> entry : snapshot.getMeltValues().entrySet()) {
+            buf.writeVarInt(Registries.ITEM.getRawId(entry.getKey()));
+            buf.writeVarInt(entry.getValue().getValue());
+            buf.writeVarInt(Registries.FLUID.getRawId(entry.getValue().getFluid()));
+        }
+
+        buf.writeVarInt(snapshot.getCrushRecipes().size());
+        for (Map.Entry<Block, Block> entry : snapshot.getCrushRecipes().entrySet()) {
+            buf.writeVarInt(Registries.BLOCK.getRawId(entry.getKey()));
+            buf.writeVarInt(Registries.BLOCK.getRawId(entry.getValue()));
+        }
+
+        buf.writeVarInt(snapshot.getHeatEntries().size());
+        for (HeatRegistry.HeatEntry entry : snapshot.getHeatEntries()) {
+            boolean isTag = entry.getTag() != null;
+            buf.writeBoolean(isTag);
+            if (isTag) {
+                buf.writeIdentifier(entry.getTag().id());
+            } else {
+                buf.writeVarInt(Registries.BLOCK.getRawId(entry.getBlock()));
+            }
+            buf.writeVarInt(entry.getHeat());
+            buf.writeBoolean(entry.isWoodSafe());
+        }
+
+        byte[] bytes = new byte[buf.readableBytes()];
+        buf.readBytes(bytes);
+        buf.release();
+        return bytes;
+    }
+
+    /**
+     * Decode a snapshot written by {@link #encode}
+     * @throws IllegalArgumentException If the data was written by a different format version
+     */
+    public static RecipeSnapshot decode(byte[] bytes) {
+        PacketByteBuf buf = new PacketByteBuf(Unpooled.wrappedBuffer(bytes));
+        int version = buf.readVarInt();
+        if (version != FORMAT_VERSION) {
+            throw new IllegalArgumentException("Unsupported recipe data version " + version);
+        }
+
+        int count = buf.readVarInt();
+        List<ExDeorumRecipes.SieveRecipe> sieveRecipes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Block input = Registries.BLOCK.get(buf.readVarInt());
+            Item result = Registries.ITEM.get(buf.readVarInt());
+            float chance = buf.readFloat();
+            MeshType mesh = MeshType.byOrdinal(buf.readUnsignedByte());
+            sieveRecipes.add(new ExDeorumRecipes.SieveRecipe(input, result, chance, mesh));
+        }
+
+        count = buf.readVarInt();
+        Map<Item, Integer> compostValues = new LinkedHashMap<>();
+        for (int i = 0; i < count; i++) {
+            compostValues.put(Registries.ITEM.get(buf.readVarInt()), buf.readVarInt());
+        }
+
+        count = buf.readVarInt();
+        Map<TagKey<Item>, Integer> compostTags = new LinkedHashMap<>();
+        for (int i = 0; i < count; i++) {
+            compostTags.put(TagKey.of(RegistryKeys.ITEM, buf.readIdentifier()), buf.readVarInt());
+        }
+
+        count = buf.readVarInt();
+        Map<Item, ExDeorumRecipes.MeltValue> meltValues = new LinkedHashMap<>();
+        for (int i = 0; i < count; i++) {
+            Item item = Registries.ITEM.get(buf.readVarInt());
+            int value = buf.readVarInt();
+            meltValues.put(item, new ExDeorumRecipes.MeltValue(value, Registries.FLUID.get(buf.readVarInt())));
+        }
+
+        count = buf.readVarInt();
+        Map<Block, Block> crushRecipes = new LinkedHashMap<>();
+        for (int i = 0; i < count; i++) {
+            crushRecipes.put(Registries.BLOCK.get(buf.readVarInt()), Registries.BLOCK.get(buf.readVarInt()));
+        }
+
+        count = buf.readVarInt();
+        List<HeatRegistry.HeatEntry> heatEntries = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Block block = null;
+            TagKey<Block> tag = null;
+            if (buf.readBoolean()) {
+                tag = TagKey.of(RegistryKeys.BLOCK, buf.readIdentifier());
+            } else {
+                block = Registries.BLOCK.get(buf.readVarInt());
+            }
+            heatEntries.add(new HeatRegistry.HeatEntry(block, tag, buf.readVarInt(), buf.readBoolean()));
+        }
+
+        return RecipeSnapshot.compile(sieveRecipes, compostValues, compostTags, meltValues, crushRecipes, heatEntries);
+    }
+}
@@ -0,0 +1,96 @@
+package net.fabricmc.exdeorum.recipe;
+
+import net.minecraft.block.Block;
+import net.minecraft.item.Item;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Frozen lookup from (input block, mesh) to the compiled drop list.
+ * The table is built once from the registered recipes and never changes afterwards.
+ */
+public final class SieveDropTable {
+    public static final SieveDropTable EMPTY = new SieveDropTable(new IdentityHashMap<>());
+
+    // Sieve progress gained per click, indexed by the Efficiency level of the mesh
+    private static final int[] PROGRESS_PER_CLICK = {1, 2, 2, 3, 4, 7};
+
+    // Per input block, one drop list per mesh tier with lower tiers already merged in
+    private final Map<Block, SieveDrops[]> table;
+
+    private SieveDropTable(Map<Block, SieveDrops[]> table) {
+        this.table = table;
+    }
+
+    /**
+     * Get the compiled drops for an input block and mesh
+     * @return The drops, or {@link SieveDrops#EMPTY} if nothing can be sifted
+     */
+    public SieveDrops get(Block input, MeshType mesh) {
+        SieveDrops[] byMesh = table.get(input);
+        return byMesh == null ? SieveDrops.EMPTY : byMesh[mesh.ordinal()];
+    }
+
+    /**
+     * Check if a block has any sieve recipe
+     */
+    public boolean hasRecipes(Block input) {
+        return table.containsKey(input);
+    }
+
+    /**
+     * Get the progress a sieve gains per click with a mesh of a given Efficiency level
+     */
+    public static int getProgressPerClick(int efficiency) {
+        return PROGRESS_PER_CLICK[Math.max(0, Math.min(efficiency, PROGRESS_PER_CLICK.length - 1))];
+    }
+
+    /**
+     * Compile a table from a list of recipes
+     */
+    public static SieveDropTable compile(Collection<ExDeorumRecipes.SieveRecipe> recipes) {
+        Map<Block, List<ExDeorumRecipes.SieveRecipe>> byInput = new IdentityHashMap<>();
+        for (ExDeorumRecipes.SieveRecipe recipe : recipes) {
+            byInput.computeIfAbsent(recipe.getInput(), k -> new ArrayList<>()).add(recipe);
+        }
+
+        Map<Block, SieveDrops[]> table = new IdentityHashMap<>(byInput.size());
+        for (Map.Entry<Block, List<ExDeorumRecipes.SieveRecipe>> entry : byInput.entrySet()) {
+            SieveDrops[] byMesh = new SieveDrops[MeshType.count()];
+            for (int mesh = 0; mesh < byMesh.length; mesh++) {
+                byMesh[mesh] = compileDrops(entry.getValue(), MeshType.byOrdinal(mesh));
+            }
+            table.put(entry.getKey(), byMesh);
+        }
+
+        return new SieveDropTable(table);
+    }
+
+    private static SieveDrops compileDrops(List<ExDeorumRecipes.SieveRecipe> recipes, MeshType mesh) {
+        int count = 0;
+        for (ExDeorumRecipes.SieveRecipe recipe : recipes) {
+            if (recipe.isValidForMesh(mesh)) {
+                count++;
+            }
+        }
+        if (count == 0) {
+            return SieveDrops.EMPTY;
+        }
+
+        Item[] items = new Item[count];
+        float[] chances = new float[count];
+        int i = 0;
+        for (ExDeorumRecipes.SieveRecipe recipe : recipes) {
+            if (recipe.isValidForMesh(mesh)) {
+                items[i] = recipe.getResult();
+                chances[i] = recipe.getChance();
+                i++;
+            }
+        }
+        return new SieveDrops(items, chances);
+    }
+}
@@ -0,0 +1,159 @@
+package net.fabricmc.exdeorum.recipe;
+
+import net.fabricmc.exdeorum.util.MachineRandom;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The compiled drop list for one (input block, mesh) pair.
+ * Items and chances are kept in parallel primitive arrays so rolling
+ * does not need to allocate anything besides the resulting stacks.
+ * The chances for every Fortune level are computed up front, so an enchanted
+ * mesh costs the same to roll as a plain one.
+ */
+public final class SieveDrops {
+    public static final SieveDrops EMPTY = new SieveDrops(new Item[0], new float[0]);
+    
+    /** Highest Fortune level with its own chance table, higher levels use this one */
+    public static final int MAX_FORTUNE = 3;
+    // Chance multiplier per Fortune level
+    private static final float[] FORTUNE_MULTIPLIERS = {1.0f, 1.25f, 1.5f, 2.0f};
+
+    private final Item[] items;
+    private final float[] chances;
+    // Chances indexed by Fortune level, level 0 being the recipe chances
+    private final float[][] fortuneChances;
+    
+    // Distinct result items, and for every candidate the index of its item in that list,
+    // so batch rolls can merge duplicates without a map
+    private final Item[] uniqueItems;
+    private final int[] uniqueIndex;
+
+    SieveDrops(Item[] items, float[] chances) {
+        this.items = items;
+        this.chances = chances;
+        
+        fortuneChances = new float[MAX_FORTUNE + 1][];
+        fortuneChances[0] = chances;
+        for (int level = 1; level <= MAX_FORTUNE; level++) {
+            float[] levelChances = new float[chances.length];
+            for (int i = 0; i < chances.length; i++) {
+                levelChances[i] = Math.min(1.0f, chances[i] * FORTUNE_MULTIPLIERS[level]);
+            }
+            fortuneChances[level] = levelChances;
+        }
+        
+        Item[] unique = new Item[items.length];
+        uniqueIndex = new int[items.length];
+        int uniqueCount = 0;
+        for (int i = 0; i < items.length; i++) {
+            int index = 0;
+            while (index < uniqueCount && unique[index] != items[i]) {
+                index++;
+            }
+            if (index == uniqueCount) {
+                unique[uniqueCount++] = items[i];
+            }
+            uniqueIndex[i] = index;
+        }
+        uniqueItems = Arrays.copyOf(unique, uniqueCount);
+    }
+
+    public int size() {
+        return items.length;
+    }
+
+    public boolean isEmpty() {
+        return items.length == 0;
+    }
+
+    public Item getItem(int index) {
+        return items[index];
+    }
+
+    public float getChance(int index) {
+        return chances[index];
+    }
+
+    /**
+     * Roll every candidate once and add the successful drops to the output buffer
+     * @param random The random source to roll with
+     * @param out The buffer the resulting stacks are added to
+     * @return The number of stacks that were added
+     */
+    public int roll(MachineRandom random, List<ItemStack> out) {
+        return roll(random, 0, out);
+    }
+
+    /**
+     * Roll every candidate once with a Fortune mesh
+     * @param fortune The Fortune level of the mesh
+     * @param out The buffer the resulting stacks are added to
+     * @return The number of stacks that were added
+     */
+    public int roll(MachineRandom random, int fortune, List<ItemStack> out) {
+        float[] levelChances = getChances(fortune);
+        int added = 0;
+        for (int i = 0; i < items.length; i++) {
+            if (random.nextFloat() < levelChances[i]) {
+                out.add(new ItemStack(items[i]));
+                added++;
+            }
+        }
+        return added;
+    }
+
+    /**
+     * Roll a batch of identical sieve operations at once.
+     * The yield of every candidate is sampled from a binomial distribution, so the cost
+     * depends on the number of candidates and not on the batch size.
+     * @param count The number of inputs sifted
+     * @param out The buffer the merged stacks are added to
+     * @return The number of stacks that were added
+     */
+    public int rollBatch(MachineRandom random, int count, List<ItemStack> out) {
+        return rollBatch(random, count, 0, out);
+    }
+
+    /**
+     * Roll a batch of identical sieve operations at once with a Fortune mesh
+     * @param count The number of inputs sifted
+     * @param fortune The Fortune level of the mesh
+     * @param out The buffer the merged stacks are added to
+     * @return The number of stacks that were added
+     */
+    public int rollBatch(MachineRandom random, int count, int fortune, List<ItemStack> out) {
+        if (count <= 0 || items.length == 0) {
+            return 0;
+        }
+        if (count == 1) {
+            return roll(random, fortune, out);
+        }
+        
+        float[] levelChances = getChances(fortune);
+        int[] totals = new int[uniqueItems.length];
+        for (int i = 0; i < items.length; i++) {
+            totals[uniqueIndex[i]] += random.nextBinomial(count, levelChances[i]);
+        }
+        
+        int added = 0;
+        for (int i = 0; i < uniqueItems.length; i++) {
+            int remaining = totals[i];
+            int maxCount = uniqueItems[i].getMaxCount();
+            while (remaining > 0) {
+                int size = Math.min(remaining, maxCount);
+                out.add(new ItemStack(uniqueItems[i], size));
+                remaining -= size;
+                added++;
+            }
+        }
+        return added;
+    }
+
+    private float[] getChances(int fortune) {
+        return fortuneChances[Math.max(0, Math.min(fortune, MAX_FORTUNE))];
+    }
+}
@@ -3,6 +3,7 @@ package net.fabricmc.exdeorum.registry;
 import net.fabricmc.exdeorum.ExDeorum;
 import net.fabricmc.exdeorum.block.entity.BarrelBlockEntity;
 import net.fabricmc.exdeorum.block.entity.CrucibleBlockEntity;
+import net.fabricmc.exdeorum.block.entity.MechanicalSieveBlockEntity;
 import net.fabricmc.exdeorum.block.entity.SieveBlockEntity;
 import net.fabricmc.fabric.api.object.builder.v1.block.entity.FabricBlockEntityTypeBuilder;
 import net.minecraft.block.entity.BlockEntityType;
@@ -19,6 +20,7 @@ public class ModBlockEntities {
     public static BlockEntityType<BarrelBlockEntity> BARREL;
     public static BlockEntityType<SieveBlockEntity> SIEVE;
     public static BlockEntityType<CrucibleBlockEntity> CRUCIBLE;
+    public static BlockEntityType<MechanicalSieveBlockEntity> MECHANICAL_SIEVE;
     
     /**
      * Register all block entities
@@ -50,6 +52,13 @@ public class ModBlockEntities {
                 .build()
         );
         
+        MECHANICAL_SIEVE = Registry.register(
+            Registries.BLOCK_ENTITY_TYPE,
+            new Identifier(ExDeorum.MOD_ID, "mechanical_sieve"),
+            FabricBlockEntityTypeBuilder.create(MechanicalSieveBlockEntity::new, ModBlocks.MECHANICAL_SIEVE)
+                .build()
+        );
+        
         ExDeorum.LOGGER.info("Registered block entities");
     }
 }
\ No newline at end of file
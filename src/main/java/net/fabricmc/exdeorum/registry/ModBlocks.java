@@ -3,6 +3,7 @@ package net.fabricmc.exdeorum.registry;
 import net.fabricmc.exdeorum.ExDeorum;
 import net.fabricmc.exdeorum.block.BarrelBlock;
 import net.fabricmc.exdeorum.block.CrucibleBlock;
+import net.fabricmc.exdeorum.block.MechanicalSieveBlock;
 import net.fabricmc.exdeorum.block.SieveBlock;
 import net.fabricmc.fabric.api.item.v1.FabricItemSettings;
 import net.fabricmc.fabric.api.object.builder.v1.block.FabricBlockSettings;
@@ -36,12 +37,13 @@ public class ModBlocks {
     public static final Block SPRUCE_SIEVE = new SieveBlock(woodenSieveSettings());
     public static final Block BIRCH_SIEVE = new SieveBlock(woodenSieveSettings());
     public static final Block JUNGLE_SIEVE = new SieveBlock(woodenSieveSettings());
+    public static final Block MECHANICAL_SIEVE = new MechanicalSieveBlock(mechanicalSieveSettings());
     
     // Crucible blocks
-    public static final Block OAK_CRUCIBLE = new CrucibleBlock(woodenCrucibleSettings(), true);
-    public static final Block SPRUCE_CRUCIBLE = new CrucibleBlock(woodenCrucibleSettings(), true);
-    public static final Block PORCELAIN_CRUCIBLE = new CrucibleBlock(porcelainCrucibleSettings(), false);
-    public static final Block UNFIRED_PORCELAIN_CRUCIBLE = new CrucibleBlock(unfiredPorcelainCrucibleSettings(), false);
+    public static final Block OAK_CRUCIBLE = new CrucibleBlock(woodenCrucibleSettings(), false);
+    public static final Block SPRUCE_CRUCIBLE = new CrucibleBlock(woodenCrucibleSettings(), false);
+    public static final Block PORCELAIN_CRUCIBLE = new CrucibleBlock(porcelainCrucibleSettings(), true);
+    public static final Block UNFIRED_PORCELAIN_CRUCIBLE = new CrucibleBlock(unfiredPorcelainCrucibleSettings(), true);
     
     /**
      * Register all blocks and their corresponding items
@@ -64,6 +66,7 @@ public class ModBlocks {
         registerBlockWithItem("spruce_sieve", SPRUCE_SIEVE);
         registerBlockWithItem("birch_sieve", BIRCH_SIEVE);
         registerBlockWithItem("jungle_sieve", JUNGLE_SIEVE);
+        registerBlockWithItem("mechanical_sieve", MECHANICAL_SIEVE);
         
         // Register crucibles
         registerBlockWithItem("oak_crucible", OAK_CRUCIBLE);
@@ -103,6 +106,12 @@ public class ModBlocks {
             .nonOpaque();
     }
     
+    private static FabricBlockSettings mechanicalSieveSettings() {
+        return FabricBlockSettings.copyOf(Blocks.IRON_BLOCK)
+            .strength(3.0f, 6.0f)
+            .nonOpaque();
+    }
+    
     private static FabricBlockSettings woodenCrucibleSettings() {
         return FabricBlockSettings.copyOf(Blocks.OAK_PLANKS)
             .strength(2.0f, 3.0f)
@@ -0,0 +1,108 @@
+package net.fabricmc.exdeorum.registry;
+
+import com.mojang.brigadier.context.CommandContext;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import net.fabricmc.exdeorum.block.entity.BarrelBlockEntity;
+import net.fabricmc.exdeorum.block.entity.CrucibleBlockEntity;
+import net.fabricmc.exdeorum.block.entity.MechanicalSieveBlockEntity;
+import net.fabricmc.exdeorum.block.entity.SieveBlockEntity;
+import net.fabricmc.exdeorum.machine.MachineDirtyTracker;
+import net.fabricmc.exdeorum.machine.MachineFootprint;
+import net.fabricmc.fabric.api.command.v2.CommandRegistrationCallback;
+import net.minecraft.block.entity.BlockEntity;
+import net.minecraft.server.command.CommandManager;
+import net.minecraft.server.command.ServerCommandSource;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.text.Text;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.chunk.WorldChunk;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Registry for all commands in Ex Deorum
+ */
+public class ModCommands {
+
+    /**
+     * Register all commands
+     */
+    public static void register() {
+        CommandRegistrationCallback.EVENT.register((dispatcher, registryAccess, environment) ->
+                dispatcher.register(CommandManager.literal("exdeorum")
+                        .requires(source -> source.hasPermissionLevel(2))
+                        .then(CommandManager.literal("footprint")
+                                .executes(ModCommands::reportFootprint))));
+    }
+
+    /**
+     * Report how many machines are loaded around players in the current world,
+     * and an estimate of the memory they use
+     */
+    private static int reportFootprint(CommandContext<ServerCommandSource> context) {
+        ServerCommandSource source = context.getSource();
+        ServerWorld world = source.getWorld();
+
+        Map<String, long[]> totals = new LinkedHashMap<>();
+        totals.put("barrel", new long[2]);
+        totals.put("sieve", new long[2]);
+        totals.put("crucible", new long[2]);
+        totals.put("mechanical sieve", new long[2]);
+
+        // Machines only live in loaded chunks, which are the ones around players
+        int radius = world.getServer().getPlayerManager().getViewDistance();
+        LongOpenHashSet visited = new LongOpenHashSet();
+        for (ServerPlayerEntity player : world.getPlayers()) {
+            ChunkPos center = player.getChunkPos();
+            for (int x = center.x - radius; x <= center.x + radius; x++) {
+                for (int z = center.z - radius; z <= center.z + radius; z++) {
+                    if (!visited.add(ChunkPos.toLong(x, z))) {
+                        continue;
+                    }
+                    WorldChunk chunk = world.getChunkManager().getWorldChunk(x, z);
+                    if (chunk == null) {
+                        continue;
+                    }
+                    for (BlockEntity be : chunk.getBlockEntities().values()) {
+                        long[] total = totals.get(getMachineName(be));
+                        if (total != null) {
+                            total[0]++;
+                            total[1] += MachineFootprint.estimate(be);
+                        }
+                    }
+                }
+            }
+        }
+
+        source.sendFeedback(() -> Text.literal("Ex Deorum machines in " + visited.size() + " chunks around players:"), false);
+        for (Map.Entry<String, long[]> entry : totals.entrySet()) {
+            long count = entry.getValue()[0];
+            long bytes = entry.getValue()[1];
+            long average = count == 0 ? 0 : bytes / count;
+            source.sendFeedback(() -> Text.literal(String.format("  %s: %d loaded, ~%d bytes (~%d bytes each)",
+                    entry.getKey(), count, bytes, average)), false);
+        }
+        source.sendFeedback(() -> Text.literal(String.format("  dirty flushes: %d, coalesced: %d",
+                MachineDirtyTracker.getFlushCount(),
+                MachineDirtyTracker.getCoalescedCount())), false);
+        return visited.size();
+    }
+
+    private static String getMachineName(BlockEntity be) {
+        if (be instanceof BarrelBlockEntity) {
+            return "barrel";
+        }
+        if (be instanceof SieveBlockEntity) {
+            return "sieve";
+        }
+        if (be instanceof CrucibleBlockEntity) {
+            return "crucible";
+        }
+        if (be instanceof MechanicalSieveBlockEntity) {
+            return "mechanical sieve";
+        }
+        return null;
+    }
+}
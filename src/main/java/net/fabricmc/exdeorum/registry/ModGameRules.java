@@ -0,0 +1,32 @@
+package net.fabricmc.exdeorum.registry;
+
+import net.fabricmc.fabric.api.gamerule.v1.GameRuleFactory;
+import net.fabricmc.fabric.api.gamerule.v1.GameRuleRegistry;
+import net.minecraft.world.GameRules;
+
+/**
+ * Registry for all game rules in Ex Deorum
+ */
+public class ModGameRules {
+    
+    /** Melt crucible contents at a steady heat-scaled rate instead of in batches */
+    public static GameRules.Key<GameRules.BooleanRule> CONTINUOUS_MELTING;
+    
+    /** Number of inputs a mechanical sieve sifts per work cycle */
+    public static GameRules.Key<GameRules.IntRule> MECHANICAL_SIEVE_BATCH;
+    
+    /** Number of inputs all mechanical sieves together may sift per server tick, 0 for no limit */
+    public static GameRules.Key<GameRules.IntRule> SIEVE_THROUGHPUT_CAP;
+    
+    /**
+     * Register all game rules
+     */
+    public static void register() {
+        CONTINUOUS_MELTING = GameRuleRegistry.register("exdeorumContinuousMelting",
+                GameRules.Category.UPDATES, GameRuleFactory.createBooleanRule(false));
+        MECHANICAL_SIEVE_BATCH = GameRuleRegistry.register("exdeorumMechanicalSieveBatch",
+                GameRules.Category.UPDATES, GameRuleFactory.createIntRule(8, 1));
+        SIEVE_THROUGHPUT_CAP = GameRuleRegistry.register("exdeorumSieveThroughputCap",
+                GameRules.Category.UPDATES, GameRuleFactory.createIntRule(256, 0));
+    }
+}
@@ -48,6 +48,7 @@ public class ModItemGroups {
                     entries.add(ModBlocks.SPRUCE_SIEVE);
                     entries.add(ModBlocks.BIRCH_SIEVE);
                     entries.add(ModBlocks.JUNGLE_SIEVE);
+                    entries.add(ModBlocks.MECHANICAL_SIEVE);
                     
                     // Add crucible blocks
                     entries.add(ModBlocks.OAK_CRUCIBLE);
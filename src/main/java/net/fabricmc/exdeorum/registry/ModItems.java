@@ -3,12 +3,15 @@ package net.fabricmc.exdeorum.registry;
 import net.fabricmc.exdeorum.ExDeorum;
 import net.fabricmc.exdeorum.item.CrookItem;
 import net.fabricmc.exdeorum.item.HammerItem;
+import net.fabricmc.exdeorum.item.MeshItem;
+import net.fabricmc.exdeorum.recipe.MeshType;
 import net.fabricmc.fabric.api.item.v1.FabricItemSettings;
 import net.minecraft.item.Item;
 import net.minecraft.item.ToolMaterials;
 import net.minecraft.registry.Registries;
 import net.minecraft.registry.Registry;
 import net.minecraft.util.Identifier;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * Registry for all items in Ex Deorum
@@ -30,12 +33,12 @@ public class ModItems {
     public static final Item BONE_CROOK = new CrookItem(ToolMaterials.STONE, 1, -1.8f, new Item.Settings());
     
     // Meshes for sieves
-    public static final Item STRING_MESH = new Item(new FabricItemSettings());
-    public static final Item FLINT_MESH = new Item(new FabricItemSettings());
-    public static final Item IRON_MESH = new Item(new FabricItemSettings());
-    public static final Item GOLDEN_MESH = new Item(new FabricItemSettings());
-    public static final Item DIAMOND_MESH = new Item(new FabricItemSettings());
-    public static final Item NETHERITE_MESH = new Item(new FabricItemSettings());
+    public static final Item STRING_MESH = new MeshItem(MeshType.STRING, new FabricItemSettings());
+    public static final Item FLINT_MESH = new MeshItem(MeshType.FLINT, new FabricItemSettings());
+    public static final Item IRON_MESH = new MeshItem(MeshType.IRON, new FabricItemSettings());
+    public static final Item GOLDEN_MESH = new MeshItem(MeshType.GOLDEN, new FabricItemSettings());
+    public static final Item DIAMOND_MESH = new MeshItem(MeshType.DIAMOND, new FabricItemSettings());
+    public static final Item NETHERITE_MESH = new MeshItem(MeshType.NETHERITE, new FabricItemSettings());
     
     // Miscellaneous
     public static final Item SILKWORM = new Item(new FabricItemSettings());
@@ -86,6 +89,15 @@ public class ModItems {
         ExDeorum.LOGGER.info("Registered items");
     }
     
+    /**
+     * Get the mesh type of a mesh item
+     * @return The mesh type, or null if the item is not a mesh
+     */
+    @Nullable
+    public static MeshType getMeshType(Item item) {
+        return item instanceof MeshItem mesh ? mesh.getMeshType() : null;
+    }
+    
     /**
      * Register an item
      */
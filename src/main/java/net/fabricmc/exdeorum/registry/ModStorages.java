@@ -0,0 +1,54 @@
+package net.fabricmc.exdeorum.registry;
+
+import net.fabricmc.exdeorum.ExDeorum;
+import net.fabricmc.exdeorum.block.BarrelBlock;
+import net.fabricmc.exdeorum.block.SieveBlock;
+import net.fabricmc.exdeorum.block.entity.BarrelBlockEntity;
+import net.fabricmc.exdeorum.block.entity.MechanicalSieveBlockEntity;
+import net.fabricmc.exdeorum.block.entity.SieveBlockEntity;
+import net.fabricmc.fabric.api.transfer.v1.fluid.FluidStorage;
+import net.fabricmc.fabric.api.transfer.v1.item.ItemStorage;
+import net.minecraft.util.math.Direction;
+
+/**
+ * Registry for all Transfer API storages in Ex Deorum
+ */
+public class ModStorages {
+
+    /**
+     * Register all storages, must be called after the block entities
+     */
+    public static void register() {
+        // Empty barrels have no block entity, so barrels are looked up by block
+        FluidStorage.SIDED.registerForBlocks((world, pos, state, blockEntity, direction) -> {
+            if (blockEntity instanceof BarrelBlockEntity barrelBE) {
+                return barrelBE.getFluidStorage();
+            }
+            if (state.get(BarrelBlock.MODE) == BarrelBlockEntity.BarrelMode.EMPTY) {
+                return BarrelBlockEntity.createEmptyFluidStorage(world, pos);
+            }
+            return null;
+        }, ModBlocks.OAK_BARREL, ModBlocks.SPRUCE_BARREL, ModBlocks.BIRCH_BARREL, ModBlocks.JUNGLE_BARREL,
+                ModBlocks.ACACIA_BARREL, ModBlocks.DARK_OAK_BARREL, ModBlocks.MANGROVE_BARREL,
+                ModBlocks.CHERRY_BARREL, ModBlocks.CRIMSON_BARREL, ModBlocks.WARPED_BARREL);
+
+        FluidStorage.SIDED.registerForBlockEntity((crucibleBE, direction) -> crucibleBE.getFluidStorage(),
+                ModBlockEntities.CRUCIBLE);
+
+        // Sieves without a mesh have no block entity either, they only take a mesh
+        ItemStorage.SIDED.registerForBlocks((world, pos, state, blockEntity, direction) -> {
+            if (blockEntity instanceof SieveBlockEntity sieveBE) {
+                return sieveBE.getItemStorage(direction);
+            }
+            if (!state.get(SieveBlock.HAS_MESH) && direction != Direction.DOWN) {
+                return SieveBlockEntity.createMeshStorage(world, pos);
+            }
+            return null;
+        }, ModBlocks.OAK_SIEVE, ModBlocks.SPRUCE_SIEVE, ModBlocks.BIRCH_SIEVE, ModBlocks.JUNGLE_SIEVE);
+
+        ItemStorage.SIDED.registerForBlockEntity(MechanicalSieveBlockEntity::getItemStorage,
+                ModBlockEntities.MECHANICAL_SIEVE);
+
+        ExDeorum.LOGGER.info("Registered storages");
+    }
+}
@@ -0,0 +1,156 @@
+package net.fabricmc.exdeorum.util;
+
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+
+/**
+ * Small, non-thread-safe SplitMix64 random source for machines and tools.
+ * Each machine owns its own instance seeded from the world seed and its position,
+ * so rolling never allocates or contends on a shared seed, and a sequence of drops
+ * can be replayed exactly from the same seed.
+ */
+public final class MachineRandom {
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+    // Above this mean the binomial sampler switches from CDF inversion to a normal approximation
+    private static final double BINOMIAL_INVERSION_LIMIT = 16.0;
+
+    private long state;
+
+    public MachineRandom(long seed) {
+        this.state = seed;
+    }
+
+    /**
+     * Create a random source for a machine at a position
+     */
+    public static MachineRandom forPosition(long worldSeed, BlockPos pos) {
+        return new MachineRandom(seedFor(worldSeed, pos.asLong()));
+    }
+
+    /**
+     * Create a random source for a machine at a position, using the world seed on the server
+     */
+    public static MachineRandom forPosition(World world, BlockPos pos) {
+        return forPosition(getWorldSeed(world), pos);
+    }
+
+    /**
+     * Get the seed of a world, or 0 on the client where it is not known
+     */
+    public static long getWorldSeed(World world) {
+        return world instanceof ServerWorld serverWorld ? serverWorld.getSeed() : 0L;
+    }
+
+    /**
+     * Get a float in [0, 1) derived only from the inputs, for one-off rolls that don't keep state
+     */
+    public static float hashFloat(long seed, long a, long b) {
+        return toFloat(mix64(seedFor(seed, a) ^ mix64(b + GOLDEN_GAMMA)));
+    }
+
+    /**
+     * Create an independent random source from this one
+     */
+    public MachineRandom split() {
+        return new MachineRandom(nextLong());
+    }
+
+    public long nextLong() {
+        return mix64(state += GOLDEN_GAMMA);
+    }
+
+    /**
+     * Get an int in [0, bound)
+     */
+    public int nextInt(int bound) {
+        return (int) (((nextLong() >>> 32) * bound) >>> 32);
+    }
+
+    /**
+     * Get a float in [0, 1)
+     */
+    public float nextFloat() {
+        return toFloat(nextLong());
+    }
+
+    /**
+     * Get a double in [0, 1)
+     */
+    public double nextDouble() {
+        return (nextLong() >>> 11) * 0x1.0p-53;
+    }
+
+    /**
+     * Get a normally distributed double with mean 0 and standard deviation 1
+     */
+    public double nextGaussian() {
+        // Box-Muller, using 1 - u so the logarithm never sees 0
+        double radius = Math.sqrt(-2.0 * Math.log(1.0 - nextDouble()));
+        return radius * Math.cos(2.0 * Math.PI * nextDouble());
+    }
+
+    /**
+     * Get the number of successes out of n independent trials with chance p.
+     * Costs O(min(np, n(1-p))) for small means and O(1) otherwise, instead of n rolls.
+     */
+    public int nextBinomial(int n, double p) {
+        if (n <= 0 || p <= 0.0) {
+            return 0;
+        }
+        if (p >= 1.0) {
+            return n;
+        }
+        if (p > 0.5) {
+            // Sample the rarer outcome so the inversion loop stays short
+            return n - nextBinomial(n, 1.0 - p);
+        }
+
+        double mean = n * p;
+        if (mean < BINOMIAL_INVERSION_LIMIT) {
+            // Walk the CDF until the uniform sample is used up
+            double q = 1.0 - p;
+            double ratio = p / q;
+            double a = (n + 1) * ratio;
+            double probability = Math.pow(q, n);
+            double u = nextDouble();
+            int successes = 0;
+            while (u > probability && successes < n) {
+                u -= probability;
+                successes++;
+                probability *= a / successes - ratio;
+            }
+            return successes;
+        }
+
+        // Normal approximation with continuity correction
+        double deviation = Math.sqrt(mean * (1.0 - p));
+        long successes = (long) Math.floor(mean + deviation * nextGaussian() + 0.5);
+        return (int) Math.max(0L, Math.min(n, successes));
+    }
+
+    /**
+     * Get the internal state, for saving the random source with its machine
+     */
+    public long getState() {
+        return state;
+    }
+
+    public void setState(long state) {
+        this.state = state;
+    }
+
+    private static long seedFor(long seed, long value) {
+        return mix64(seed ^ mix64(value));
+    }
+
+    private static float toFloat(long bits) {
+        return (bits >>> 40) * 0x1.0p-24f;
+    }
+
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
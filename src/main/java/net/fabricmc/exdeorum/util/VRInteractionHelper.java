@@ -29,7 +29,6 @@ public class VRInteractionHelper {
                                               PlayerEntity player, Hand hand) {
         // If the player is in VR, we make sieving more VR-friendly
         if (VRCompat.isPlayerInVR(player)) {
-            BlockState state = world.getBlockState(pos);
             SieveBlockEntity blockEntity = (SieveBlockEntity) world.getBlockEntity(pos);
             
             if (blockEntity == null) return false;
@@ -37,9 +36,6 @@ public class VRInteractionHelper {
             // For VR, we automate multiple sieving actions with a single click
             // to avoid excessive controller use which can be tiring in VR
             if (blockEntity.hasInput() && blockEntity.hasMesh()) {
-                // Get the initial progress value
-                int startProgress = blockEntity.getProgress();
-                
                 // For VR users, we make two sieving actions per click
                 boolean completed = blockEntity.sieveOnce();
                 
@@ -48,9 +44,6 @@ public class VRInteractionHelper {
                     completed = blockEntity.sieveOnce();
                 }
                 
-                // Update the block state to match the sieve progress
-                world.setBlockState(pos, state.with(SieveBlock.PROGRESS, blockEntity.getProgress()));
-                
                 // Play a more prominent sound for VR users
                 float pitch = 0.6f + (blockEntity.getProgress() / 7.0f) * 0.4f;
                 float volume = VRCompat.isPlayerInVR(player) ? 0.5f : 0.3f;
@@ -102,8 +95,7 @@ public class VRInteractionHelper {
             // use buckets on the crucible for easier VR interaction
             
             // Display enhanced visual effects for VR users
-            int level = state.get(CrucibleBlock.LEVEL);
-            if (level > 0) {
+            if (blockEntity.getSolidAmount() + blockEntity.getFluidAmount() > 0) {
                 // More prominent visual cues for VR users
                 // This would typically involve particle effects to
                 // make fluid levels more obvious in VR
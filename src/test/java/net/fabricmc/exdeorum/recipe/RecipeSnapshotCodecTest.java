@@ -0,0 +1,142 @@
+package net.fabricmc.exdeorum.recipe;
+
+import net.minecraft.Bootstrap;
+import net.minecraft.SharedConstants;
+import net.minecraft.block.Block;
+import net.minecraft.block.Blocks;
+import net.minecraft.fluid.Fluids;
+import net.minecraft.item.Item;
+import net.minecraft.item.Items;
+import net.minecraft.registry.Registries;
+import net.minecraft.registry.tag.BlockTags;
+import net.minecraft.registry.tag.ItemTags;
+import net.minecraft.registry.tag.TagKey;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RecipeSnapshotCodecTest {
+
+    @BeforeAll
+    static void bootstrap() {
+        SharedConstants.createGameVersion();
+        Bootstrap.initialize();
+    }
+
+    @Test
+    void roundTripKeepsEveryRecipe() {
+        RecipeSnapshot snapshot = createSnapshot();
+        RecipeSnapshot decoded = RecipeSnapshotCodec.decode(RecipeSnapshotCodec.encode(snapshot));
+
+        assertEquals(snapshot.getSieveRecipes().size(), decoded.getSieveRecipes().size());
+        for (int i = 0; i < snapshot.getSieveRecipes().size(); i++) {
+            ExDeorumRecipes.SieveRecipe expected = snapshot.getSieveRecipes().get(i);
+            ExDeorumRecipes.SieveRecipe actual = decoded.getSieveRecipes().get(i);
+            assertSame(expected.getInput(), actual.getInput());
+            assertSame(expected.getResult(), actual.getResult());
+            assertEquals(expected.getChance(), actual.getChance());
+            assertSame(expected.getMeshType(), actual.getMeshType());
+        }
+
+        assertEquals(snapshot.getCompostValues(), decoded.getCompostValues());
+        assertEquals(snapshot.getCompostTags(), decoded.getCompostTags());
+        assertEquals(snapshot.getCrushRecipes(), decoded.getCrushRecipes());
+
+        assertEquals(snapshot.getMeltValues().keySet(), decoded.getMeltValues().keySet());
+        for (Map.Entry<Item, ExDeorumRecipes.MeltValue> entry : snapshot.getMeltValues().entrySet()) {
+            ExDeorumRecipes.MeltValue actual = decoded.getMeltValues().get(entry.getKey());
+            assertEquals(entry.getValue().getValue(), actual.getValue());
+            assertSame(entry.getValue().getFluid(), actual.getFluid());
+        }
+
+        assertEquals(snapshot.getHeatEntries().size(), decoded.getHeatEntries().size());
+        for (int i = 0; i < snapshot.getHeatEntries().size(); i++) {
+            HeatRegistry.HeatEntry expected = snapshot.getHeatEntries().get(i);
+            HeatRegistry.HeatEntry actual = decoded.getHeatEntries().get(i);
+            assertSame(expected.getBlock(), actual.getBlock());
+            assertEquals(expected.getTag(), actual.getTag());
+            assertEquals(expected.getHeat(), actual.getHeat());
+            assertEquals(expected.isWoodSafe(), actual.isWoodSafe());
+        }
+    }
+
+    @Test
+    void roundTripKeepsTheSyncHash() {
+        RecipeSnapshot snapshot = createSnapshot();
+        RecipeSnapshot decoded = RecipeSnapshotCodec.decode(snapshot.getSyncData());
+
+        assertArrayEquals(snapshot.getSyncData(), decoded.getSyncData());
+        assertArrayEquals(snapshot.getSyncHash(), decoded.getSyncHash());
+    }
+
+    @Test
+    void sameRecipesGiveTheSameHash() {
+        assertArrayEquals(createSnapshot().getSyncHash(), createSnapshot().getSyncHash());
+    }
+
+    @Test
+    void compileKeepsLoadOrder() {
+        // Enough entries that an unordered copy would almost surely come out shuffled
+        Map<Item, Integer> compostValues = new LinkedHashMap<>();
+        List<Item> items = new ArrayList<>();
+        for (Item item : Registries.ITEM) {
+            if (item != Items.AIR && items.size() < 64) {
+                items.add(item);
+            }
+        }
+        Collections.reverse(items);
+        for (int i = 0; i < items.size(); i++) {
+            compostValues.put(items.get(i), i + 1);
+        }
+
+        RecipeSnapshot snapshot = RecipeSnapshot.compile(List.of(), compostValues, Map.of(), Map.of(), Map.of(), List.of());
+        assertEquals(items, new ArrayList<>(snapshot.getCompostValues().keySet()));
+    }
+
+    @Test
+    void rejectsOtherFormatVersions() {
+        byte[] data = createSnapshot().getSyncData().clone();
+        data[0] = 99;
+        assertThrows(IllegalArgumentException.class, () -> RecipeSnapshotCodec.decode(data));
+    }
+
+    private static RecipeSnapshot createSnapshot() {
+        List<ExDeorumRecipes.SieveRecipe> sieveRecipes = List.of(
+                new ExDeorumRecipes.SieveRecipe(Blocks.GRAVEL, Items.FLINT, 0.25f, MeshType.STRING),
+                new ExDeorumRecipes.SieveRecipe(Blocks.GRAVEL, Items.IRON_NUGGET, 0.1f, MeshType.IRON),
+                new ExDeorumRecipes.SieveRecipe(Blocks.SAND, Items.CACTUS, 0.05f, MeshType.FLINT));
+
+        Map<Item, Integer> compostValues = new LinkedHashMap<>();
+        compostValues.put(Items.WHEAT_SEEDS, 100);
+        compostValues.put(Items.APPLE, 125);
+        compostValues.put(Items.ROTTEN_FLESH, 100);
+
+        Map<TagKey<Item>, Integer> compostTags = new LinkedHashMap<>();
+        compostTags.put(ItemTags.LEAVES, 125);
+        compostTags.put(ItemTags.SAPLINGS, 125);
+
+        Map<Item, ExDeorumRecipes.MeltValue> meltValues = new LinkedHashMap<>();
+        meltValues.put(Items.COBBLESTONE, new ExDeorumRecipes.MeltValue(250, Fluids.LAVA));
+        meltValues.put(Items.OAK_LEAVES, new ExDeorumRecipes.MeltValue(100, Fluids.WATER));
+
+        Map<Block, Block> crushRecipes = new LinkedHashMap<>();
+        crushRecipes.put(Blocks.COBBLESTONE, Blocks.GRAVEL);
+        crushRecipes.put(Blocks.GRAVEL, Blocks.SAND);
+
+        List<HeatRegistry.HeatEntry> heatEntries = List.of(
+                new HeatRegistry.HeatEntry(Blocks.TORCH, null, 1, true),
+                new HeatRegistry.HeatEntry(null, BlockTags.FIRE, 3, false));
+
+        return RecipeSnapshot.compile(sieveRecipes, compostValues, compostTags, meltValues, crushRecipes, heatEntries);
+    }
+}
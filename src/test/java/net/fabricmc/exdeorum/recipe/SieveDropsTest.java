@@ -0,0 +1,112 @@
+package net.fabricmc.exdeorum.recipe;
+
+import net.fabricmc.exdeorum.util.MachineRandom;
+import net.minecraft.Bootstrap;
+import net.minecraft.SharedConstants;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.item.Items;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SieveDropsTest {
+
+    @BeforeAll
+    static void bootstrap() {
+        SharedConstants.createGameVersion();
+        Bootstrap.initialize();
+    }
+
+    @Test
+    void sameSeedRollsTheSameDrops() {
+        SieveDrops drops = new SieveDrops(new Item[]{Items.FLINT, Items.IRON_NUGGET, Items.COAL}, new float[]{0.25f, 0.1f, 0.5f});
+        List<ItemStack> first = new ArrayList<>();
+        List<ItemStack> second = new ArrayList<>();
+        drops.rollBatch(new MachineRandom(5L), 500, first);
+        drops.rollBatch(new MachineRandom(5L), 500, second);
+
+        assertEquals(first.size(), second.size());
+        for (int i = 0; i < first.size(); i++) {
+            assertTrue(ItemStack.areEqual(first.get(i), second.get(i)), "stack " + i + " differs");
+        }
+    }
+
+    @Test
+    void singleBatchRollsLikeOneSift() {
+        SieveDrops drops = new SieveDrops(new Item[]{Items.FLINT, Items.IRON_NUGGET}, new float[]{0.5f, 0.5f});
+        for (long seed = 0; seed < 32; seed++) {
+            List<ItemStack> batch = new ArrayList<>();
+            List<ItemStack> single = new ArrayList<>();
+            drops.rollBatch(new MachineRandom(seed), 1, batch);
+            drops.roll(new MachineRandom(seed), single);
+
+            assertEquals(single.size(), batch.size());
+            for (int i = 0; i < single.size(); i++) {
+                assertTrue(ItemStack.areEqual(single.get(i), batch.get(i)));
+            }
+        }
+    }
+
+    @Test
+    void batchMergesDuplicatesIntoFullStacks() {
+        // Two certain flint candidates give exactly two flint per sift
+        SieveDrops drops = new SieveDrops(new Item[]{Items.FLINT, Items.FLINT}, new float[]{1.0f, 1.0f});
+        List<ItemStack> out = new ArrayList<>();
+        int added = drops.rollBatch(new MachineRandom(11L), 500, out);
+
+        assertEquals(out.size(), added);
+        assertEquals(1000, countOf(out, Items.FLINT));
+        // 15 full stacks and one of 40
+        assertEquals(16, out.size());
+        for (ItemStack stack : out) {
+            assertTrue(stack.getCount() <= stack.getMaxCount());
+        }
+    }
+
+    @Test
+    void batchYieldStaysWithinBinomialBounds() {
+        int count = 10_000;
+        SieveDrops drops = new SieveDrops(new Item[]{Items.FLINT}, new float[]{0.25f});
+        for (long seed = 0; seed < 20; seed++) {
+            List<ItemStack> out = new ArrayList<>();
+            drops.rollBatch(new MachineRandom(seed), count, out);
+
+            // B(10000, 0.25) has mean 2500 and a standard deviation of about 43
+            int total = countOf(out, Items.FLINT);
+            assertTrue(total >= 2200 && total <= 2800, "seed " + seed + " gave " + total);
+        }
+    }
+
+    @Test
+    void fortuneRaisesChancesUpToCertain() {
+        // Fortune III doubles the chance, capped at 1
+        SieveDrops drops = new SieveDrops(new Item[]{Items.FLINT}, new float[]{0.6f});
+        List<ItemStack> out = new ArrayList<>();
+        drops.rollBatch(new MachineRandom(3L), 200, SieveDrops.MAX_FORTUNE, out);
+        assertEquals(200, countOf(out, Items.FLINT));
+    }
+
+    @Test
+    void emptyDropsAddNothing() {
+        List<ItemStack> out = new ArrayList<>();
+        assertEquals(0, SieveDrops.EMPTY.rollBatch(new MachineRandom(0L), 64, out));
+        assertEquals(0, new SieveDrops(new Item[]{Items.FLINT}, new float[]{1.0f}).rollBatch(new MachineRandom(0L), 0, out));
+        assertTrue(out.isEmpty());
+    }
+
+    private static int countOf(List<ItemStack> stacks, Item item) {
+        int total = 0;
+        for (ItemStack stack : stacks) {
+            if (stack.isOf(item)) {
+                total += stack.getCount();
+            }
+        }
+        return total;
+    }
+}
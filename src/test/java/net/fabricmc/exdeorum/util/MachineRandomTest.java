@@ -0,0 +1,103 @@
+package net.fabricmc.exdeorum.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MachineRandomTest {
+
+    @Test
+    void matchesSplitMix64Reference() {
+        // First outputs of the reference SplitMix64 generator seeded with 0
+        MachineRandom random = new MachineRandom(0L);
+        assertEquals(0xe220a8397b1dcdafL, random.nextLong());
+        assertEquals(0x6e789e6aa1b965f4L, random.nextLong());
+        assertEquals(0x06c45d188009454fL, random.nextLong());
+    }
+
+    @Test
+    void fixedSeedGivesFixedSequence() {
+        MachineRandom random = new MachineRandom(42L);
+        assertEquals(0xbdd732262feb6e95L, random.nextLong());
+        assertEquals(0x28efe333b266f103L, random.nextLong());
+        assertEquals(0x47526757130f9f52L, random.nextLong());
+    }
+
+    @Test
+    void savedStateReplaysTheSequence() {
+        MachineRandom random = new MachineRandom(1234L);
+        random.nextBinomial(100, 0.3);
+        long state = random.getState();
+        int[] expected = new int[16];
+        for (int i = 0; i < expected.length; i++) {
+            expected[i] = random.nextBinomial(50, 0.2);
+        }
+
+        MachineRandom replay = new MachineRandom(state);
+        for (int value : expected) {
+            assertEquals(value, replay.nextBinomial(50, 0.2));
+        }
+    }
+
+    @Test
+    void binomialEdgeCases() {
+        MachineRandom random = new MachineRandom(7L);
+        assertEquals(0, random.nextBinomial(0, 0.5));
+        assertEquals(0, random.nextBinomial(-3, 0.5));
+        assertEquals(0, random.nextBinomial(10, 0.0));
+        assertEquals(10, random.nextBinomial(10, 1.0));
+    }
+
+    @Test
+    void binomialStaysInBounds() {
+        MachineRandom random = new MachineRandom(99L);
+        int[] trials = {1, 2, 10, 100, 10_000};
+        double[] chances = {0.001, 0.05, 0.3, 0.5, 0.7, 0.999};
+        for (int n : trials) {
+            for (double p : chances) {
+                for (int i = 0; i < 1000; i++) {
+                    int successes = random.nextBinomial(n, p);
+                    assertTrue(successes >= 0 && successes <= n, "B(" + n + ", " + p + ") gave " + successes);
+                }
+            }
+        }
+    }
+
+    @Test
+    void binomialInversionMatchesMeanAndVariance() {
+        // Mean 5, sampled by walking the CDF
+        assertDistribution(new MachineRandom(1L), 20, 0.25, 200_000);
+    }
+
+    @Test
+    void binomialNormalApproximationMatchesMeanAndVariance() {
+        // Mean 400, sampled with the normal approximation
+        assertDistribution(new MachineRandom(2L), 1000, 0.4, 100_000);
+    }
+
+    @Test
+    void binomialHighChanceMatchesMeanAndVariance() {
+        // Sampled through the rarer outcome
+        assertDistribution(new MachineRandom(3L), 30, 0.9, 200_000);
+    }
+
+    private static void assertDistribution(MachineRandom random, int n, double p, int samples) {
+        double sum = 0;
+        double sumSquares = 0;
+        for (int i = 0; i < samples; i++) {
+            int successes = random.nextBinomial(n, p);
+            sum += successes;
+            sumSquares += (double) successes * successes;
+        }
+        double mean = sum / samples;
+        double variance = sumSquares / samples - mean * mean;
+
+        double expectedMean = n * p;
+        double expectedVariance = n * p * (1 - p);
+        // Well over six standard errors, so a fixed seed can't land outside by chance
+        double meanTolerance = 7 * Math.sqrt(expectedVariance / samples);
+        assertEquals(expectedMean, mean, meanTolerance, "mean of B(" + n + ", " + p + ")");
+        assertEquals(expectedVariance, variance, expectedVariance * 0.05, "variance of B(" + n + ", " + p + ")");
+    }
+}